@@ -0,0 +1,69 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArraySumBenchmark {
+
+    @Param({"100000", "10000000"})
+    int size;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    @Param({"1000", "16384"})
+    int threshold;
+
+    int[] array;
+    ForkJoinPool pool;
+    IntKernels scalar = new ScalarIntKernels();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt(1000000);
+        }
+        pool = new ForkJoinPool(threads);
+        // Measure before the trial so parallelCalibrated() does not time the balanced-only cutoff
+        ForkThresholds.taskOverhead();
+        ForkThresholds.unitCost(ForkThresholds.Kernel.ARRAY_SUM);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long serial() {
+        return ArraySum.sumSerial(array);
+    }
+
+    // Scalar fallback, to compare against serial() which uses the selected kernels
+    @Benchmark
+    public long serialScalar() {
+        return scalar.sum(array, 0, array.length);
+    }
+
+    @Benchmark
+    public long parallel() {
+        return pool.invoke(new ArraySum.ArraySumParallel(array, 0, array.length, threshold));
+    }
+
+    // Cutoff from ForkThresholds instead of the threshold parameter
+    @Benchmark
+    public long parallelCalibrated() {
+        int calibrated = ForkThresholds.threshold(ForkThresholds.Kernel.ARRAY_SUM, array.length, 1, threads);
+        return pool.invoke(new ArraySum.ArraySumParallel(array, 0, array.length, calibrated));
+    }
+}
@@ -0,0 +1,31 @@
+package osproject;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    // Default result file, one per run so releases can be diffed
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    // Accepts the usual JMH command line (e.g. "ArraySum -p size=1000000"), but writes JSON
+    // results unless -rf / -rff are given explicitly
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmdOptions.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT_FILE);
+        }
+        if (!cmdOptions.getJvmArgsAppend().hasValue()) {
+            // Lets IntKernels pick the Vector API kernels in the forked JVMs
+            builder.jvmArgsAppend("--add-modules=jdk.incubator.vector");
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package osproject;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageBlurBenchmark {
+
+    // Square synthetic image, so results don't depend on a file on disk
+    @Param({"256", "1024"})
+    int side;
+
+    @Param({"2", "6"})
+    int radius;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    @Param({"100", "16"})
+    int threshold;
+
+    BufferedImage src;
+    BufferedImage dest;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        src = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                src.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        dest = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage serial() {
+        ImageBlur.applyBlur(src, dest, radius);
+        return dest;
+    }
+
+    @Benchmark
+    public BufferedImage parallel() {
+        pool.invoke(new ImageBlur.BlurTask(src, dest, 0, side, radius, threshold));
+        return dest;
+    }
+
+    @Benchmark
+    public BufferedImage boxSerial() {
+        BoxBlur.blur(src, dest, radius);
+        return dest;
+    }
+
+    @Benchmark
+    public BufferedImage boxParallel() {
+        BoxBlur.blurParallel(src, dest, radius, pool);
+        return dest;
+    }
+
+    // Same extent as the box, but an arbitrary kernel through the tiled engine
+    @Benchmark
+    public BufferedImage tiledBoxKernel() {
+        new TiledConvolution(pool).apply(src, dest, ConvolutionKernel.box(radius));
+        return dest;
+    }
+}
@@ -0,0 +1,99 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KNNBenchmark {
+
+    static final int K = 5;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    @Param({"500", "4096"})
+    int threshold;
+
+    Point[] trainingSet;
+    Point[] queries;
+    int next;
+    ForkJoinPool pool;
+    KDTree tree;
+    TrainingSet columnar;
+    ApproximateIndex grid;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        trainingSet = new Point[size];
+        for (int i = 0; i < size; i++) {
+            trainingSet[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextInt(10));
+        }
+        queries = new Point[64];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100, 0);
+        }
+        pool = new ForkJoinPool(threads);
+        tree = new KDTree(trainingSet, pool);
+        columnar = TrainingSet.of(trainingSet);
+        grid = ApproximateIndex.create(columnar, 1, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    // Cycle through queries so consecutive calls never search around the same point
+    Point nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public int serial() {
+        return KNN.classify(trainingSet, nextQuery(), K);
+    }
+
+    @Benchmark
+    public int serialColumnar() {
+        return KNN.classify(columnar, nextQuery().coordinates(), K);
+    }
+
+    @Benchmark
+    public int parallel() {
+        return KNN.vote(trainingSet, pool.invoke(new KNN.KNNParallel(trainingSet, nextQuery(), K, 0, trainingSet.length, threshold)));
+    }
+
+    // All queries in one call, fanned out over queries and training shards
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public int[] batch() {
+        return KNN.classifyBatch(trainingSet, queries, K, pool);
+    }
+
+    @Benchmark
+    public int kdTree() {
+        return tree.classify(nextQuery(), K);
+    }
+
+    @Benchmark
+    public int gridApproximate() {
+        return grid.classify(nextQuery().coordinates(), K);
+    }
+
+    @Benchmark
+    public KDTree kdTreeBuild() {
+        return new KDTree(trainingSet, pool);
+    }
+}
@@ -0,0 +1,91 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Measures a single gradient-descent epoch, serial vs. fork/join, and batch scoring of all rows
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogisticRegressionBenchmark {
+
+    static final double LR = 0.01;
+
+    @Param({"10000", "1000000"})
+    int rows;
+
+    @Param({"16"})
+    int features;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    @Param({"50", "4096"})
+    int threshold;
+
+    double[][] X;
+    DenseFeatureMatrix flat;
+    double[] y;
+    LogisticRegression model;
+    double[] weights;
+    double[][] gradients;
+    double[] scores;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        X = new double[rows][features];
+        y = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < features; j++) {
+                X[i][j] = random.nextGaussian();
+            }
+            y[i] = random.nextBoolean() ? 1 : 0;
+        }
+        flat = DenseFeatureMatrix.of(X);
+        model = new LogisticRegression(features);
+        weights = new double[features];
+        gradients = LogisticRegression.gradientBuffers(rows, features, threshold);
+        scores = new double[rows];
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public LogisticRegression serialEpoch() {
+        model.updateWeights(X, y, LR);
+        return model;
+    }
+
+    @Benchmark
+    public double[] parallelEpoch() {
+        pool.invoke(new LogisticRegression.WeightUpdateTask(X, y, weights, gradients));
+        return gradients[0];
+    }
+
+    @Benchmark
+    public double[] parallelEpochFlat() {
+        pool.invoke(new LogisticRegression.WeightUpdateTask(flat, y, weights, gradients));
+        return gradients[0];
+    }
+
+    @Benchmark
+    public double[] predictBatch() {
+        return model.predictBatch(flat, scores, false, pool);
+    }
+
+    @Benchmark
+    public double[] predictBatchFast() {
+        return model.predictBatch(flat, scores, true, pool);
+    }
+}
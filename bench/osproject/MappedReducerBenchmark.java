@@ -0,0 +1,48 @@
+package osproject;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Reduction over a memory-mapped int file; after the first iteration the file sits in page cache
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedReducerBenchmark {
+
+    @Param({"10000000", "100000000"})
+    long elements;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    Path file;
+    ForkJoinPool pool;
+    MappedReducer reducer;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("mapped-reducer-bench", ".bin");
+        MappedReducer.writeRandomInts(file, elements, 1000000, ByteOrder.nativeOrder());
+        pool = new ForkJoinPool(threads);
+        reducer = new MappedReducer(new ParallelReducer(pool));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Aggregates reduceInts() throws IOException {
+        return reducer.reduceInts(file, ByteOrder.nativeOrder());
+    }
+}
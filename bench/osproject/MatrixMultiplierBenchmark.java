@@ -0,0 +1,95 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatrixMultiplierBenchmark {
+
+    @Param({"256", "1000"})
+    int size;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    double[][] a;
+    double[][] b;
+    DenseMatrix flatA;
+    DenseMatrix flatB;
+    FloatMatrix floatA;
+    FloatMatrix floatB;
+    CsrMatrix sparseA;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        a = MatrixGenerator.generateRandomMatrix(size, size);
+        b = MatrixGenerator.generateRandomMatrix(size, size);
+        flatA = DenseMatrix.of(a);
+        flatB = DenseMatrix.of(b);
+        floatA = FloatMatrix.of(flatA);
+        floatB = FloatMatrix.of(flatB);
+        sparseA = CsrMatrix.random(size, size, i -> size / 100, new Random(42)); // 1% dense
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[][] serial() {
+        return MatrixMultiplier.serialMultiplyMatrix(a, b);
+    }
+
+    // Kernel only, without the copies in and out of double[][]
+    @Benchmark
+    public DenseMatrix serialFlat() {
+        return MatrixMultiplier.multiply(flatA, flatB);
+    }
+
+    @Benchmark
+    public double[][] parallel() {
+        return MatrixMultiplier.parallelMultiplyMatrix(a, b, pool);
+    }
+
+    @Benchmark
+    public DenseMatrix parallelFlat() {
+        return MatrixMultiplier.parallelMultiply(flatA, flatB, pool);
+    }
+
+    // Single precision: half the bytes per element, twice the lanes per vector
+    @Benchmark
+    public FloatMatrix serialFloat() {
+        return MatrixMultiplier.multiply(floatA, floatB);
+    }
+
+    @Benchmark
+    public FloatMatrix parallelFloat() {
+        return MatrixMultiplier.parallelMultiply(floatA, floatB, pool);
+    }
+
+    // Strassen with the cutoff at half the size: one level of seven products at 1000
+    @Benchmark
+    public DenseMatrix strassen() {
+        return MatrixMultiplier.strassenMultiply(flatA, flatB, pool, size / 2);
+    }
+
+    @Benchmark
+    public DenseMatrix sparseTimesDense() {
+        return MatrixMultiplier.parallelMultiply(sparseA, flatB, pool);
+    }
+
+    @Benchmark
+    public CsrMatrix sparseTimesSparse() {
+        return MatrixMultiplier.parallelMultiply(sparseA, sparseA, pool);
+    }
+}
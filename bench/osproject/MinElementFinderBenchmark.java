@@ -0,0 +1,59 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MinElementFinderBenchmark {
+
+    @Param({"100000", "10000000"})
+    int size;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    @Param({"100", "16384"})
+    int threshold;
+
+    int[] array;
+    ForkJoinPool pool;
+    IntKernels scalar = new ScalarIntKernels();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt(10000000);
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int serial() {
+        return MinElementFinder.findMinSerial(array);
+    }
+
+    // Scalar fallback, to compare against serial() which uses the selected kernels
+    @Benchmark
+    public int serialScalar() {
+        return scalar.min(array, 0, array.length);
+    }
+
+    @Benchmark
+    public int parallel() {
+        return pool.invoke(new MinElementFinder.MinFinderParallel(array, 0, array.length, threshold));
+    }
+}
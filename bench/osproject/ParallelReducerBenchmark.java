@@ -0,0 +1,64 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// One multi-aggregate pass vs. the two single-purpose tasks it replaces
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelReducerBenchmark {
+
+    @Param({"100000", "10000000"})
+    int size;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    @Param({"1024", "16384"})
+    int threshold;
+
+    int[] array;
+    ForkJoinPool pool;
+    ParallelReducer reducer;
+    ParallelReducer fullReducer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt(1000000);
+        }
+        pool = new ForkJoinPool(threads);
+        reducer = new ParallelReducer(pool).withThreshold(threshold);
+        fullReducer = reducer.withVariance().withHistogram(64, 0, 1000000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long sumThenMinTwoTasks() {
+        long sum = pool.invoke(new ArraySum.ArraySumParallel(array, 0, array.length, threshold));
+        int min = pool.invoke(new MinElementFinder.MinFinderParallel(array, 0, array.length, threshold));
+        return sum + min;
+    }
+
+    @Benchmark
+    public Aggregates sumMinMaxOnePass() {
+        return reducer.reduce(array);
+    }
+
+    @Benchmark
+    public Aggregates allAggregatesOnePass() {
+        return fullReducer.reduce(array);
+    }
+}
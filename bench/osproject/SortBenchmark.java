@@ -0,0 +1,96 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"1", "4", "8"})
+    int threads;
+
+    // 1 forks down to single elements (insertion-sort sized ranges for quicksort), as the sorts did
+    // before they had a cutoff
+    @Param({"1", "8192"})
+    int threshold;
+
+    // Sorted, reversed, few-unique and organ-pipe inputs drive naive pivot choices quadratic
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    SortComparison.Distribution distribution;
+
+    int[] original;
+    int[] array;
+    int[] temp;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        original = SortComparison.generateArray(distribution, size, new Random(42));
+        array = new int[size];
+        temp = new int[size];
+        pool = new ForkJoinPool(threads);
+    }
+
+    // Every sort works in place, so each invocation starts from the same input
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(original, 0, array, 0, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] quickSortSerial() {
+        SortComparison.quickSort(array, 0, array.length - 1);
+        return array;
+    }
+
+    @Benchmark
+    public int[] quickSortParallel() {
+        pool.invoke(new SortComparison.ParallelQuickSort(array, 0, array.length - 1, threshold));
+        return array;
+    }
+
+    @Benchmark
+    public int[] mergeSortSerial() {
+        SortComparison.mergeSort(array, temp, 0, array.length - 1);
+        return array;
+    }
+
+    @Benchmark
+    public int[] mergeSortParallel() {
+        pool.invoke(new SortComparison.ParallelMergeSort(array, temp, 0, array.length - 1, threshold));
+        return array;
+    }
+
+    @Benchmark
+    public int[] radixSortSerial() {
+        SortComparison.radixSort(array, temp, 0, array.length - 1);
+        return array;
+    }
+
+    @Benchmark
+    public int[] radixSortParallel() {
+        pool.invoke(new SortComparison.ParallelRadixSort(array, temp, 0, array.length - 1, threshold));
+        return array;
+    }
+
+    @Benchmark
+    public int[] sampleSortParallel() {
+        pool.invoke(new SortComparison.ParallelSampleSort(array, temp, 0, array.length - 1, threshold));
+        return array;
+    }
+}
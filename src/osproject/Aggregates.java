@@ -0,0 +1,166 @@
+package osproject;
+
+import java.util.Arrays;
+
+// Result of a ParallelReducer pass: every aggregate of one array range, gathered in a single scan.
+// Integral inputs (int[], long[]) keep exact long sum/min/max, double[] inputs keep double ones.
+public class Aggregates {
+    final boolean floating;
+    final boolean variance;
+
+    long count;
+    long sum;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    double doubleSum;
+    double doubleMin = Double.POSITIVE_INFINITY;
+    double doubleMax = Double.NEGATIVE_INFINITY;
+    long argMin = -1;
+    long argMax = -1;
+
+    // Mean and sum of squared deviations, only tracked when variance was requested
+    double mean;
+    double m2;
+
+    // Histogram over [histogramLow, histogramHigh), values outside the range go to outOfRange
+    final long[] histogram;
+    final double histogramLow;
+    final double histogramHigh;
+    long outOfRange;
+
+    Aggregates(boolean floating, boolean variance, int bins, double histogramLow, double histogramHigh) {
+        this.floating = floating;
+        this.variance = variance;
+        this.histogram = bins > 0 ? new long[bins] : null;
+        this.histogramLow = histogramLow;
+        this.histogramHigh = histogramHigh;
+    }
+
+    // Empty accumulator with the same shape, used by forked subtasks
+    Aggregates emptyCopy() {
+        return new Aggregates(floating, variance, histogram == null ? 0 : histogram.length, histogramLow, histogramHigh);
+    }
+
+    // Merge the aggregates of a disjoint range; ties on min/max keep the lower index
+    void merge(Aggregates other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (variance && count == 0) {
+            mean = other.mean;
+            m2 = other.m2;
+        } else if (variance) {
+            // Chan et al. pairwise update, stable for large counts
+            long n = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / n;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+        }
+        count += other.count;
+        sum += other.sum;
+        doubleSum += other.doubleSum;
+        if (floating) {
+            if (other.doubleMin < doubleMin || (other.doubleMin == doubleMin && other.argMin < argMin)) {
+                doubleMin = other.doubleMin;
+                argMin = other.argMin;
+            }
+            if (other.doubleMax > doubleMax || (other.doubleMax == doubleMax && other.argMax < argMax)) {
+                doubleMax = other.doubleMax;
+                argMax = other.argMax;
+            }
+        } else {
+            if (other.min < min || (other.min == min && other.argMin < argMin)) {
+                min = other.min;
+                argMin = other.argMin;
+            }
+            if (other.max > max || (other.max == max && other.argMax < argMax)) {
+                max = other.max;
+                argMax = other.argMax;
+            }
+        }
+        if (histogram != null) {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            outOfRange += other.outOfRange;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Exact sum of an int[] or long[] (long[] sums wrap on overflow like plain Java arithmetic)
+    public long getSum() {
+        requireIntegral();
+        return sum;
+    }
+
+    public long getMin() {
+        requireIntegral();
+        return min;
+    }
+
+    public long getMax() {
+        requireIntegral();
+        return max;
+    }
+
+    public double getSumAsDouble() {
+        return floating ? doubleSum : sum;
+    }
+
+    public double getMinAsDouble() {
+        return floating ? doubleMin : min;
+    }
+
+    public double getMaxAsDouble() {
+        return floating ? doubleMax : max;
+    }
+
+    // Index of the first occurrence of the minimum, -1 for an empty range
+    public long getArgMin() {
+        return argMin;
+    }
+
+    // Index of the first occurrence of the maximum, -1 for an empty range
+    public long getArgMax() {
+        return argMax;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : getSumAsDouble() / count;
+    }
+
+    // Population variance, NaN unless the reducer was built withVariance()
+    public double getVariance() {
+        return count == 0 || !variance ? Double.NaN : m2 / count;
+    }
+
+    // Bin counts, or null unless the reducer was built withHistogram()
+    public long[] getHistogram() {
+        return histogram == null ? null : histogram.clone();
+    }
+
+    public long getOutOfRange() {
+        return outOfRange;
+    }
+
+    private void requireIntegral() {
+        if (floating) {
+            throw new UnsupportedOperationException("Aggregates of a double[] only have double values");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Aggregates{count=" + count
+                + ", sum=" + (floating ? String.valueOf(doubleSum) : String.valueOf(sum))
+                + ", min=" + (floating ? String.valueOf(doubleMin) : String.valueOf(min)) + " @" + argMin
+                + ", max=" + (floating ? String.valueOf(doubleMax) : String.valueOf(max)) + " @" + argMax
+                + ", mean=" + getMean()
+                + ", variance=" + getVariance()
+                + (histogram == null ? "" : ", histogram=" + Arrays.toString(histogram) + ", outOfRange=" + outOfRange)
+                + "}";
+    }
+}
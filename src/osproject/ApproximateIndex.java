@@ -0,0 +1,217 @@
+package osproject;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Approximate k-nearest-neighbour search over a TrainingSet: instead of scanning every training
+// point, a query only ranks the candidates an index hands it, and may miss some true neighbours.
+// GridIndex buckets points in a uniform grid and suits low dimensions, LSHIndex hashes random
+// projections and suits high ones. measure() compares an index with the exact scan on real
+// queries, so speed and recall can be traded off from data.
+public abstract class ApproximateIndex {
+    static final int GRID_MAX_DIMS = 3;
+
+    final TrainingSet trainingSet;
+
+    ApproximateIndex(TrainingSet trainingSet) {
+        this.trainingSet = trainingSet;
+    }
+
+    // Grid up to GRID_MAX_DIMS dimensions, LSH above. effort >= 1, higher is slower with better recall.
+    public static ApproximateIndex create(TrainingSet trainingSet, int effort, ForkJoinPool pool) {
+        if (effort < 1) {
+            throw new IllegalArgumentException("effort must be at least 1: " + effort);
+        }
+        if (trainingSet.dims <= GRID_MAX_DIMS) {
+            return new GridIndex(trainingSet, GridIndex.POINTS_PER_CELL, effort - 1);
+        }
+        return new LSHIndex(trainingSet, LSHIndex.TABLES * effort, LSHIndex.HASHES_PER_TABLE,
+                LSHIndex.estimateBucketWidth(trainingSet, new Random(42)), 42, pool);
+    }
+
+    // Offer the index's candidates for query to the heap, ids are training indices
+    abstract void search(double[] query, NeighbourHeap heap);
+
+    // Training indices of the approximate k nearest points, nearest first; fewer than k if the
+    // index found fewer candidates
+    public int[] nearest(double[] query, int k) {
+        NeighbourHeap heap = new NeighbourHeap(k);
+        trainingSet.checkQuery(query);
+        search(query, heap);
+        return heap.sortedIds();
+    }
+
+    public int classify(double[] query, int k) {
+        NeighbourHeap heap = new NeighbourHeap(k);
+        trainingSet.checkQuery(query);
+        search(query, heap);
+        return trainingSet.vote(heap);
+    }
+
+    // Outcome of measure(): recall is the fraction of the true k nearest neighbours found,
+    // labelAgreement the fraction of queries classified like the exact classifier
+    public static class Quality {
+        public final double recall;
+        public final double labelAgreement;
+        public final double approximateQueriesPerSecond;
+        public final double exactQueriesPerSecond;
+
+        Quality(double recall, double labelAgreement, double approximateQueriesPerSecond, double exactQueriesPerSecond) {
+            this.recall = recall;
+            this.labelAgreement = labelAgreement;
+            this.approximateQueriesPerSecond = approximateQueriesPerSecond;
+            this.exactQueriesPerSecond = exactQueriesPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "recall %.4f, label agreement %.4f, %.0f queries/s (exact %.0f queries/s)",
+                    recall, labelAgreement, approximateQueriesPerSecond, exactQueriesPerSecond);
+        }
+    }
+
+    // Run the queries through this index and through the exact scan, both in parallel on the pool
+    public Quality measure(double[][] queries, int k, ForkJoinPool pool) {
+        for (double[] query : queries) {
+            trainingSet.checkQuery(query);
+        }
+        NeighbourHeap[] approximate = new NeighbourHeap[queries.length];
+        NeighbourHeap[] exact = new NeighbourHeap[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            approximate[i] = new NeighbourHeap(k);
+            exact[i] = new NeighbourHeap(k);
+        }
+        int parallelism = pool.getParallelism();
+        double dims = trainingSet.dims / 2.0;
+
+        // An approximate query ranks on the order of a hundred candidates
+        long startTime = System.nanoTime();
+        pool.invoke(new QueryTask(trainingSet, this, queries, approximate, 0, queries.length,
+                ForkThresholds.threshold(ForkThresholds.Kernel.KNN, queries.length, 100 * dims, parallelism)));
+        long approximateNanos = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        pool.invoke(new QueryTask(trainingSet, null, queries, exact, 0, queries.length,
+                ForkThresholds.threshold(ForkThresholds.Kernel.KNN, queries.length, trainingSet.size * dims, parallelism)));
+        long exactNanos = System.nanoTime() - startTime;
+
+        long found = 0, expected = 0;
+        int agreeing = 0;
+        for (int i = 0; i < queries.length; i++) {
+            int[] truth = exact[i].sortedIds();
+            int[] candidates = approximate[i].sortedIds();
+            Arrays.sort(truth);
+            Arrays.sort(candidates);
+            found += intersectionSize(truth, candidates);
+            expected += truth.length;
+            if (trainingSet.vote(approximate[i]) == trainingSet.vote(exact[i])) {
+                agreeing++;
+            }
+        }
+        return new Quality(expected == 0 ? 1 : (double) found / expected,
+                queries.length == 0 ? 1 : (double) agreeing / queries.length,
+                queries.length * 1e9 / Math.max(1, approximateNanos),
+                queries.length * 1e9 / Math.max(1, exactNanos));
+    }
+
+    private static int intersectionSize(int[] a, int[] b) {
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    // Queries [start, end) through index, or through the exact scan of trainingSet when index is null
+    static class QueryTask extends RecursiveAction {
+        private TrainingSet trainingSet;
+        private ApproximateIndex index;
+        private double[][] queries;
+        private NeighbourHeap[] heaps;
+        private int start, end;
+        private int threshold;
+
+        QueryTask(TrainingSet trainingSet, ApproximateIndex index, double[][] queries, NeighbourHeap[] heaps,
+                  int start, int end, int threshold) {
+            this.trainingSet = trainingSet;
+            this.index = index;
+            this.queries = queries;
+            this.heaps = heaps;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                double[] scratch = index == null ? new double[TrainingSet.BLOCK] : null;
+                for (int i = start; i < end; i++) {
+                    if (index != null) {
+                        index.search(queries[i], heaps[i]);
+                    } else {
+                        trainingSet.scan(queries[i], 0, trainingSet.size, heaps[i], scratch);
+                    }
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new QueryTask(trainingSet, index, queries, heaps, start, mid, threshold),
+                        new QueryTask(trainingSet, index, queries, heaps, mid, end, threshold));
+            }
+        }
+    }
+
+    // Clustered random data: labels are clusters, features are Gaussian around the cluster centre
+    static TrainingSet clusters(int size, int dims, int labels, Random random) {
+        double[][] centres = new double[labels][dims];
+        for (double[] centre : centres) {
+            for (int d = 0; d < dims; d++) {
+                centre[d] = random.nextDouble() * 10;
+            }
+        }
+        double[][] columns = new double[dims][size];
+        int[] pointLabels = new int[size];
+        for (int i = 0; i < size; i++) {
+            pointLabels[i] = random.nextInt(labels);
+            for (int d = 0; d < dims; d++) {
+                columns[d][i] = centres[pointLabels[i]][d] + random.nextGaussian() * 2;
+            }
+        }
+        return new TrainingSet(columns, pointLabels);
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random();
+        ForkJoinPool pool = new ForkJoinPool();
+        for (int dims : new int[]{2, 32}) {
+            TrainingSet trainingSet = clusters(dims <= GRID_MAX_DIMS ? 1000000 : 200000, dims, 10, random);
+            double[][] queries = new double[500][];
+            for (int i = 0; i < queries.length; i++) {
+                int sample = random.nextInt(trainingSet.size);
+                queries[i] = new double[dims];
+                for (int d = 0; d < dims; d++) {
+                    queries[i][d] = trainingSet.columns[d][sample] + random.nextGaussian() * 0.1;
+                }
+            }
+            for (int effort = 1; effort <= 4; effort++) {
+                long startTime = System.currentTimeMillis();
+                ApproximateIndex index = create(trainingSet, effort, pool);
+                long endTime = System.currentTimeMillis();
+                System.out.println(index.getClass().getSimpleName() + ", " + dims + " dimensions, effort " + effort
+                        + ": build " + (endTime - startTime) + " ms, " + index.measure(queries, 10, pool));
+            }
+        }
+        pool.shutdown();
+    }
+}
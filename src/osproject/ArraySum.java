@@ -0,0 +1,107 @@
+package osproject;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.Random;
+
+public class ArraySum {
+
+    // Serial summing of the array
+    static long sumSerial(int[] array) {
+        return IntKernels.INSTANCE.sum(array, 0, array.length);
+    }
+
+    // Leaf loop timed by ForkThresholds for Kernel.ARRAY_SUM
+    static ForkThresholds.Workload probe(Random random) {
+        int[] array = random.ints(1 << 16, 0, 1000000).toArray();
+        return new ForkThresholds.Workload(() -> ForkThresholds.sink += sumSerial(array), array.length);
+    }
+
+    // Parallel task for summing an array
+    static class ArraySumParallel extends RecursiveTask<Long> {
+        private int[] array;
+        private int start, end;
+        private int threshold;
+
+        ArraySumParallel(int[] array, int start, int end) {
+            this(array, start, end, ForkThresholds.FROM_POOL);
+        }
+
+        ArraySumParallel(int[] array, int start, int end, int threshold) {
+            this.array = array;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            threshold = ForkThresholds.resolve(threshold, ForkThresholds.Kernel.ARRAY_SUM, end - start, 1);
+            if (end - start <= threshold) {
+                return IntKernels.INSTANCE.sum(array, start, end);
+            } else {
+                int mid = (start + end) / 2;
+                ArraySumParallel left = new ArraySumParallel(array, start, mid, threshold);
+                ArraySumParallel right = new ArraySumParallel(array, mid, end, threshold);
+                left.fork();
+                long rightResult = right.compute();
+                long leftResult = left.join();
+                return leftResult + rightResult;
+            }
+        }
+    }
+
+    // Out-of-core mode: sum of a binary file of native-order ints through memory mappings
+    private static void sumFile(String path) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool();
+        long startTime = System.currentTimeMillis();
+        Aggregates aggregates = new MappedReducer(new ParallelReducer(pool)).reduceInts(Paths.get(path), ByteOrder.nativeOrder());
+        long endTime = System.currentTimeMillis();
+        System.out.println("Sum (Mapped): " + aggregates.getSum());
+        System.out.println("Mapped time: " + (endTime - startTime) + " ms");
+        pool.shutdown();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            sumFile(args[0]);
+            return;
+        }
+
+        int[] array = new int[100000]; // Array of 1,00,000 elements
+        Random random = new Random();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(1000000); // Fill the array with random numbers up to 1,00,00,000
+        }
+
+        System.out.println("Leaf kernels: " + IntKernels.INSTANCE.name());
+
+        // Serial Summation
+        long startTime = System.currentTimeMillis();
+        long serialSum = sumSerial(array);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Sum (Serial): " + serialSum);
+        System.out.println("Serial time: " + (endTime - startTime) + " ms");
+
+        // Parallel Summation
+        ForkJoinPool pool = new ForkJoinPool();
+        ArraySumParallel task = new ArraySumParallel(array, 0, array.length);
+        startTime = System.currentTimeMillis();
+        long parallelSum = pool.invoke(task);
+        endTime = System.currentTimeMillis();
+        System.out.println("Sum (Parallel): " + parallelSum);
+        System.out.println("Parallel time: " + (endTime - startTime) + " ms");
+
+        // Shared reduction engine: sum, min and max of the same pass
+        startTime = System.currentTimeMillis();
+        Aggregates aggregates = new ParallelReducer(pool).reduce(array);
+        endTime = System.currentTimeMillis();
+        System.out.println("Sum (ParallelReducer): " + aggregates.getSum());
+        System.out.println("ParallelReducer time: " + (endTime - startTime) + " ms");
+
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,277 @@
+package osproject;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+
+// Blurs every image of a directory through a three-stage pipeline: decode -> blur -> encode.
+// Stages are connected by bounded queues, so a slow stage blocks the one feeding it instead of
+// letting decoded images pile up in the heap. Decoders, blur dispatchers and encoders are
+// blocking threads from ioExecutor() (virtual threads when the JVM has them), the blur itself
+// runs BoxBlur on a ForkJoinPool, so file and codec I/O overlap with the CPU-bound work.
+public class BatchBlur {
+    static final int QUEUE_CAPACITY = 4;
+
+    private final ForkJoinPool pool;
+    private final int radius;
+    private final int decoders, blurrers, encoders;
+
+    private final Stage decodeStage = new Stage("decode");
+    private final Stage blurStage = new Stage("blur");
+    private final Stage encodeStage = new Stage("encode");
+    private final Stage endToEnd = new Stage("total"); // Decode start to encode end, queueing included
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public BatchBlur(ForkJoinPool pool, int radius, int decoders, int blurrers, int encoders) {
+        if (decoders < 1 || blurrers < 1 || encoders < 1) {
+            throw new IllegalArgumentException("Every stage needs at least one worker");
+        }
+        this.pool = pool;
+        this.radius = radius;
+        this.decoders = decoders;
+        this.blurrers = blurrers;
+        this.encoders = encoders;
+    }
+
+    // One image moving through the pipeline; END tells a worker that its upstream stage is done
+    static class Job {
+        static final Job END = new Job(null, null);
+
+        final Path input, output;
+        BufferedImage image;
+        long started;
+
+        Job(Path input, Path output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
+
+    // Service time of one stage over all images
+    static class Stage {
+        final String name;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        void record(long startNanos) {
+            long elapsed = System.nanoTime() - startNanos;
+            count.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+        }
+
+        @Override
+        public String toString() {
+            long n = count.sum();
+            double mean = n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+            return String.format(Locale.ROOT, "%-6s %6d images, mean %8.2f ms, max %8.2f ms", name, n, mean, maxNanos.get() / 1e6);
+        }
+    }
+
+    // Virtual-thread-per-task executor on Java 21+, a cached platform thread pool before that
+    static ExecutorService ioExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void run(Path inputDir, Path outputDir) throws IOException, InterruptedException {
+        List<Path> inputs;
+        try (Stream<Path> files = Files.list(inputDir)) {
+            inputs = files.filter(BatchBlur::isImage).sorted().collect(Collectors.toList());
+        }
+        Files.createDirectories(outputDir);
+        ImageIO.setUseCache(false); // Keep codec buffers in memory instead of temp files
+
+        BlockingQueue<Job> decoded = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<Job> blurred = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        Iterator<Path> pending = inputs.iterator();
+        AtomicInteger decodersLeft = new AtomicInteger(decoders);
+        AtomicInteger blurrersLeft = new AtomicInteger(blurrers);
+
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = ioExecutor();
+        CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < decoders; i++) {
+                workers.add(completion.submit(() -> {
+                    try {
+                        decode(pending, outputDir, decoded);
+                    } finally {
+                        if (decodersLeft.decrementAndGet() == 0) {
+                            endOfStream(decoded, blurrers);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < blurrers; i++) {
+                workers.add(completion.submit(() -> {
+                    try {
+                        blur(decoded, blurred);
+                    } finally {
+                        if (blurrersLeft.decrementAndGet() == 0) {
+                            endOfStream(blurred, encoders);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < encoders; i++) {
+                workers.add(completion.submit(() -> {
+                    encode(blurred);
+                    return null;
+                }));
+            }
+            // Workers in the order they finish, so a dead stage is seen at once instead of after
+            // the workers blocked on its queue, which would otherwise wait forever
+            for (int i = 0; i < workers.size(); i++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    for (Future<Void> worker : workers) {
+                        worker.cancel(true); // Interrupts workers blocked on a queue
+                    }
+                    throw new IOException("Pipeline worker failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long endTime = System.currentTimeMillis();
+
+        long images = encodeStage.count.sum();
+        double seconds = Math.max(1, endTime - startTime) / 1000.0;
+        System.out.println("Images: " + images + " written, " + failures.get() + " failed, in " + (endTime - startTime) + " ms");
+        System.out.println(String.format(Locale.ROOT, "Throughput: %.2f images/s", images / seconds));
+        System.out.println(decodeStage);
+        System.out.println(blurStage);
+        System.out.println(encodeStage);
+        System.out.println(endToEnd);
+    }
+
+    private void decode(Iterator<Path> pending, Path outputDir, BlockingQueue<Job> decoded) throws InterruptedException {
+        while (true) {
+            Path input;
+            synchronized (pending) {
+                if (!pending.hasNext()) {
+                    return;
+                }
+                input = pending.next();
+            }
+            Job job = new Job(input, outputDir.resolve(input.getFileName()));
+            job.started = System.nanoTime();
+            try {
+                job.image = ImageIO.read(input.toFile());
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Cannot decode " + input + ": " + e.getMessage());
+            }
+            if (job.image == null) {
+                failures.incrementAndGet();
+                continue;
+            }
+            decodeStage.record(job.started);
+            decoded.put(job); // Blocks while the blur stage is behind
+        }
+    }
+
+    private void blur(BlockingQueue<Job> decoded, BlockingQueue<Job> blurred) throws InterruptedException {
+        for (Job job = decoded.take(); job != Job.END; job = decoded.take()) {
+            long start = System.nanoTime();
+            try {
+                BufferedImage src = job.image;
+                BufferedImage dest = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_RGB);
+                BoxBlur.blurParallel(src, dest, radius, pool);
+                job.image = dest;
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                System.err.println("Cannot blur " + job.input + ": " + e);
+                continue;
+            }
+            blurStage.record(start);
+            blurred.put(job); // Blocks while the encoders are behind
+        }
+    }
+
+    private void encode(BlockingQueue<Job> blurred) throws InterruptedException {
+        for (Job job = blurred.take(); job != Job.END; job = blurred.take()) {
+            long start = System.nanoTime();
+            try {
+                if (!ImageIO.write(job.image, extension(job.output), job.output.toFile())) {
+                    throw new IOException("no writer for " + extension(job.output));
+                }
+                encodeStage.record(start);
+                endToEnd.record(job.started);
+            } catch (IOException | RuntimeException e) {
+                failures.incrementAndGet();
+                System.err.println("Cannot encode " + job.output + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void endOfStream(BlockingQueue<Job> queue, int consumers) throws InterruptedException {
+        for (int i = 0; i < consumers; i++) {
+            queue.put(Job.END);
+        }
+    }
+
+    private static boolean isImage(Path path) {
+        String extension = extension(path);
+        return Files.isRegularFile(path) && ImageIO.getImageReadersBySuffix(extension).hasNext()
+                && ImageIO.getImageWritersBySuffix(extension).hasNext();
+    }
+
+    private static String extension(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    // Usage: BatchBlur <input dir> <output dir> [radius] [decoders] [blurrers] [encoders]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.out.println("Usage: BatchBlur <input dir> <output dir> [radius] [decoders] [blurrers] [encoders]");
+            return;
+        }
+        int radius = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int decoders = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        // Two dispatchers by default, so the pool has the next image while the previous one finishes
+        int blurrers = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+        int encoders = args.length > 5 ? Integer.parseInt(args[5]) : 4;
+
+        ForkJoinPool pool = new ForkJoinPool();
+        new BatchBlur(pool, radius, decoders, blurrers, encoders).run(Paths.get(args[0]), Paths.get(args[1]));
+        pool.shutdown();
+    }
+}
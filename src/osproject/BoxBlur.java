@@ -0,0 +1,174 @@
+package osproject;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Box blur with the same output as ImageBlur.applyBlur (mean of the in-bounds (2r+1)x(2r+1) window,
+// integer division, opaque result) but O(1) work per pixel whatever the radius: the raster is read
+// into a packed int[] once, a horizontal pass keeps running row sums per channel and a vertical pass
+// keeps running column sums over those. No objects are allocated per pixel.
+public class BoxBlur {
+
+    // Serial blur of a whole image
+    public static void blur(BufferedImage src, BufferedImage dest, int radius) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        int[] pixels = src.getRGB(0, 0, width, height, null, 0, width);
+        int[] out = new int[pixels.length];
+        blur(pixels, out, width, height, radius);
+        dest.setRGB(0, 0, width, height, out, 0, width);
+    }
+
+    // Fork/join blur, both passes split into bands of rows
+    public static void blurParallel(BufferedImage src, BufferedImage dest, int radius, ForkJoinPool pool) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        int[] pixels = src.getRGB(0, 0, width, height, null, 0, width);
+        int[] out = new int[pixels.length];
+        blurParallel(pixels, out, width, height, radius, pool);
+        dest.setRGB(0, 0, width, height, out, 0, width);
+    }
+
+    static void blur(int[] pixels, int[] out, int width, int height, int radius) {
+        Sums sums = new Sums(width * height);
+        horizontalPass(pixels, width, radius, 0, height, sums);
+        verticalPass(sums, out, width, height, radius, 0, height);
+    }
+
+    // Leaf loop timed by ForkThresholds for Kernel.BOX_BLUR
+    static ForkThresholds.Workload probe(Random random) {
+        int width = 256, height = 256;
+        int[] pixels = random.ints(width * height, 0, 0x1000000).toArray();
+        int[] out = new int[pixels.length];
+        return new ForkThresholds.Workload(() -> blur(pixels, out, width, height, 6), pixels.length);
+    }
+
+    static void blurParallel(int[] pixels, int[] out, int width, int height, int radius, ForkJoinPool pool) {
+        Sums sums = new Sums(width * height);
+        int threshold = ForkThresholds.threshold(ForkThresholds.Kernel.BOX_BLUR, height, width, pool.getParallelism());
+        pool.invoke(new BoxBlurTask(pixels, sums, out, width, height, radius, 0, height, threshold, true));
+        pool.invoke(new BoxBlurTask(pixels, sums, out, width, height, radius, 0, height, threshold, false));
+    }
+
+    // Per-channel window sums of the horizontal pass, row-major like the raster
+    static class Sums {
+        final int[] red, green, blue;
+
+        Sums(int size) {
+            red = new int[size];
+            green = new int[size];
+            blue = new int[size];
+        }
+    }
+
+    // Parallel task over rows [start, end) of one pass
+    static class BoxBlurTask extends RecursiveAction {
+        private int[] pixels;
+        private Sums sums;
+        private int[] out;
+        private int width, height, radius;
+        private int start, end;
+        private int threshold;
+        private boolean horizontal;
+
+        BoxBlurTask(int[] pixels, Sums sums, int[] out, int width, int height, int radius,
+                    int start, int end, int threshold, boolean horizontal) {
+            this.pixels = pixels;
+            this.sums = sums;
+            this.out = out;
+            this.width = width;
+            this.height = height;
+            this.radius = radius;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.horizontal = horizontal;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                if (horizontal) {
+                    horizontalPass(pixels, width, radius, start, end, sums);
+                } else {
+                    verticalPass(sums, out, width, height, radius, start, end);
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new BoxBlurTask(pixels, sums, out, width, height, radius, start, mid, threshold, horizontal),
+                        new BoxBlurTask(pixels, sums, out, width, height, radius, mid, end, threshold, horizontal));
+            }
+        }
+    }
+
+    // Sum of each channel over the in-bounds part of [x - r, x + r], for rows [y0, y1)
+    static void horizontalPass(int[] pixels, int width, int radius, int y0, int y1, Sums sums) {
+        int[] sumRed = sums.red, sumGreen = sums.green, sumBlue = sums.blue;
+        for (int y = y0; y < y1; y++) {
+            int row = y * width;
+            int red = 0, green = 0, blue = 0;
+            for (int x = 0; x <= Math.min(radius, width - 1); x++) {
+                int rgb = pixels[row + x];
+                red += (rgb >> 16) & 0xFF;
+                green += (rgb >> 8) & 0xFF;
+                blue += rgb & 0xFF;
+            }
+            for (int x = 0; x < width; x++) {
+                sumRed[row + x] = red;
+                sumGreen[row + x] = green;
+                sumBlue[row + x] = blue;
+                int enter = x + radius + 1;
+                if (enter < width) {
+                    int rgb = pixels[row + enter];
+                    red += (rgb >> 16) & 0xFF;
+                    green += (rgb >> 8) & 0xFF;
+                    blue += rgb & 0xFF;
+                }
+                int leave = x - radius;
+                if (leave >= 0) {
+                    int rgb = pixels[row + leave];
+                    red -= (rgb >> 16) & 0xFF;
+                    green -= (rgb >> 8) & 0xFF;
+                    blue -= rgb & 0xFF;
+                }
+            }
+        }
+    }
+
+    // Column sums of the horizontal sums over the in-bounds part of [y - r, y + r], divided by the
+    // window's pixel count, for output rows [y0, y1). Row-major throughout: each step adds one row
+    // entering the window and removes the one leaving it.
+    static void verticalPass(Sums sums, int[] out, int width, int height, int radius, int y0, int y1) {
+        int[] red = new int[width], green = new int[width], blue = new int[width];
+        for (int y = Math.max(0, y0 - radius); y <= Math.min(height - 1, y0 + radius); y++) {
+            addRow(sums, y * width, width, red, green, blue, 1);
+        }
+        for (int y = y0; y < y1; y++) {
+            int rows = Math.min(height - 1, y + radius) - Math.max(0, y - radius) + 1;
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                int count = rows * (Math.min(width - 1, x + radius) - Math.max(0, x - radius) + 1);
+                out[row + x] = 0xFF000000 | (red[x] / count) << 16 | (green[x] / count) << 8 | (blue[x] / count);
+            }
+            int enter = y + radius + 1;
+            if (enter < height) {
+                addRow(sums, enter * width, width, red, green, blue, 1);
+            }
+            int leave = y - radius;
+            if (leave >= 0) {
+                addRow(sums, leave * width, width, red, green, blue, -1);
+            }
+        }
+    }
+
+    private static void addRow(Sums sums, int row, int width, int[] red, int[] green, int[] blue, int sign) {
+        int[] sumRed = sums.red, sumGreen = sums.green, sumBlue = sums.blue;
+        for (int x = 0; x < width; x++) {
+            red[x] += sign * sumRed[row + x];
+            green[x] += sign * sumGreen[row + x];
+            blue[x] += sign * sumBlue[row + x];
+        }
+    }
+}
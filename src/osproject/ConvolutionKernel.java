@@ -0,0 +1,80 @@
+package osproject;
+
+import java.util.Arrays;
+
+// Odd-sized 2D filter for TiledConvolution, row-major weights centred on the output pixel
+public class ConvolutionKernel {
+    final int width, height;
+    final float[] weights;
+
+    public ConvolutionKernel(int width, int height, float... weights) {
+        if (width < 1 || height < 1 || width % 2 == 0 || height % 2 == 0) {
+            throw new IllegalArgumentException("Kernel sides must be odd and positive: " + width + "x" + height);
+        }
+        if (weights.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " weights, got " + weights.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.weights = weights.clone();
+    }
+
+    public int getRadiusX() {
+        return width / 2;
+    }
+
+    public int getRadiusY() {
+        return height / 2;
+    }
+
+    // Same kernel scaled so the weights add up to 1
+    public ConvolutionKernel normalized() {
+        double total = 0;
+        for (float weight : weights) {
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalStateException("Weights add up to 0 and cannot be normalized");
+        }
+        float[] scaled = new float[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            scaled[i] = (float) (weights[i] / total);
+        }
+        return new ConvolutionKernel(width, height, scaled);
+    }
+
+    public static ConvolutionKernel box(int radius) {
+        int side = 2 * radius + 1;
+        float[] weights = new float[side * side];
+        Arrays.fill(weights, 1f / (side * side));
+        return new ConvolutionKernel(side, side, weights);
+    }
+
+    // Radius 3 sigma, which keeps more than 99% of the weight
+    public static ConvolutionKernel gaussian(double sigma) {
+        int radius = Math.max(1, (int) Math.ceil(3 * sigma));
+        int side = 2 * radius + 1;
+        float[] weights = new float[side * side];
+        for (int y = -radius; y <= radius; y++) {
+            for (int x = -radius; x <= radius; x++) {
+                weights[(y + radius) * side + x + radius] = (float) Math.exp(-(x * x + y * y) / (2 * sigma * sigma));
+            }
+        }
+        return new ConvolutionKernel(side, side, weights).normalized();
+    }
+
+    public static ConvolutionKernel sharpen() {
+        return new ConvolutionKernel(3, 3,
+                0, -1, 0,
+                -1, 5, -1,
+                0, -1, 0);
+    }
+
+    // 8-neighbour Laplacian
+    public static ConvolutionKernel edgeDetect() {
+        return new ConvolutionKernel(3, 3,
+                -1, -1, -1,
+                -1, 8, -1,
+                -1, -1, -1);
+    }
+}
@@ -0,0 +1,83 @@
+package osproject;
+
+// Sparse matrix in compressed sparse column form, the transpose layout of CsrMatrix: the non-zeros
+// of column j are values[columnStart[j] .. columnStart[j + 1]) in the rows
+// rowIndex[columnStart[j] .. columnStart[j + 1]), ascending within a column. The right operand of
+// a dense x sparse product wants this layout, since each result column is one stored column.
+public class CscMatrix {
+    final int rows, columns;
+    final int[] columnStart;
+    final int[] rowIndex;
+    final double[] values;
+
+    public CscMatrix(int rows, int columns, int[] columnStart, int[] rowIndex, double[] values) {
+        if (rows < 0 || columns < 0 || columnStart.length != columns + 1 || columnStart[0] != 0
+                || columnStart[columns] != values.length || rowIndex.length != values.length) {
+            throw new IllegalArgumentException("columnStart must run from 0 to the number of values over " + columns
+                    + " columns, one row index per value");
+        }
+        for (int j = 0; j < columns; j++) {
+            if (columnStart[j + 1] < columnStart[j]) {
+                throw new IllegalArgumentException("columnStart decreases at column " + (j + 1));
+            }
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                int row = rowIndex[p];
+                if (row < 0 || row >= rows || (p > columnStart[j] && row <= rowIndex[p - 1])) {
+                    throw new IllegalArgumentException("Row indices of column " + j + " must be ascending in 0.." + (rows - 1));
+                }
+            }
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.columnStart = columnStart;
+        this.rowIndex = rowIndex;
+        this.values = values;
+    }
+
+    public static CscMatrix of(double[][] matrix) {
+        return CsrMatrix.of(matrix).toCsc();
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int nonZeros() {
+        return values.length;
+    }
+
+    public long memoryBytes() {
+        return 12L * values.length + 4L * columnStart.length;
+    }
+
+    // Same entries, row by row
+    public CsrMatrix toCsr() {
+        int[] rowStart = new int[rows + 1];
+        for (int row : rowIndex) {
+            rowStart[row + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        int[] next = new int[rows];
+        System.arraycopy(rowStart, 0, next, 0, rows);
+        int[] columnIndex = new int[values.length];
+        double[] csrValues = new double[values.length];
+        for (int j = 0; j < columns; j++) {
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                int q = next[rowIndex[p]]++;
+                columnIndex[q] = j;
+                csrValues[q] = values[p];
+            }
+        }
+        return new CsrMatrix(rows, columns, rowStart, columnIndex, csrValues);
+    }
+
+    public DenseMatrix toDense() {
+        return toCsr().toDense();
+    }
+}
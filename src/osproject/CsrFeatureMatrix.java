@@ -0,0 +1,101 @@
+package osproject;
+
+import java.util.Random;
+
+// Sparse features on a CsrMatrix: the non-zeros of row i are
+// values[rowStart[i] .. rowStart[i + 1]) in the columns columnIndex[rowStart[i] .. rowStart[i + 1]).
+// Dot products and gradients cost O(non-zeros) instead of O(rows x columns), and memory is
+// 12 bytes per non-zero plus 4 per row.
+public class CsrFeatureMatrix implements FeatureMatrix {
+    private final CsrMatrix matrix;
+    private final int rows, columns;
+    private final int[] rowStart;
+    private final int[] columnIndex;
+    private final double[] values;
+
+    // Shares the matrix's arrays, no copy
+    public CsrFeatureMatrix(CsrMatrix matrix) {
+        this.matrix = matrix;
+        this.rows = matrix.rows;
+        this.columns = matrix.columns;
+        this.rowStart = matrix.rowStart;
+        this.columnIndex = matrix.columnIndex;
+        this.values = matrix.values;
+    }
+
+    public CsrFeatureMatrix(int columns, int[] rowStart, int[] columnIndex, double[] values) {
+        this(new CsrMatrix(rowStart.length - 1, columns, rowStart, columnIndex, values));
+    }
+
+    // CSR copy of jagged rows, zeros dropped
+    public static CsrFeatureMatrix of(double[][] X) {
+        return new CsrFeatureMatrix(CsrMatrix.of(X));
+    }
+
+    // Random sparse rows with min(columns, nonZerosPerRow) standard normal values in distinct random columns
+    static CsrFeatureMatrix random(int rows, int columns, int nonZerosPerRow, Random random) {
+        return new CsrFeatureMatrix(CsrMatrix.random(rows, columns, i -> nonZerosPerRow, random::nextGaussian, random));
+    }
+
+    public CsrMatrix matrix() {
+        return matrix;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public long storedValues() {
+        return values.length;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return 12L * values.length + 4L * rowStart.length;
+    }
+
+    @Override
+    public double dot(int row, double[] weights) {
+        double sum = 0.0;
+        for (int k = rowStart[row]; k < rowStart[row + 1]; k++) {
+            sum += weights[columnIndex[k]] * values[k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void addGradient(double[] weights, double[] y, int from, int to, double[] gradient) {
+        for (int i = from; i < to; i++) {
+            int start = rowStart[i], end = rowStart[i + 1];
+            double prediction = 0.0;
+            for (int k = start; k < end; k++) {
+                prediction += weights[columnIndex[k]] * values[k];
+            }
+            double error = y[i] - LogisticRegression.sigmoid(prediction);
+            for (int k = start; k < end; k++) {
+                gradient[columnIndex[k]] += error * values[k];
+            }
+        }
+    }
+
+    // Only the columns of the batch rows can be non-zero in the gradient; a column shared by several
+    // rows is applied by the first and cleared, so later visits add 0
+    @Override
+    public void applyGradient(int[] rows, int from, int to, double scale, double[] gradient, double[] weights) {
+        for (int r = from; r < to; r++) {
+            int i = rows[r];
+            for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+                int column = columnIndex[k];
+                weights[column] += scale * gradient[column];
+                gradient[column] = 0;
+            }
+        }
+    }
+}
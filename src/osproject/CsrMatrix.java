@@ -0,0 +1,146 @@
+package osproject;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntUnaryOperator;
+
+// Sparse matrix in compressed sparse row form: the non-zeros of row i are
+// values[rowStart[i] .. rowStart[i + 1]) in the columns columnIndex[rowStart[i] .. rowStart[i + 1]),
+// ascending within a row. Memory is 12 bytes per non-zero plus 4 per row, and every product
+// touches only stored entries. Rows are cheap to traverse, columns are not: see CscMatrix.
+// CsrFeatureMatrix trains on the same layout.
+public class CsrMatrix {
+    final int rows, columns;
+    final int[] rowStart;
+    final int[] columnIndex;
+    final double[] values;
+
+    public CsrMatrix(int rows, int columns, int[] rowStart, int[] columnIndex, double[] values) {
+        if (rows < 0 || columns < 0 || rowStart.length != rows + 1 || rowStart[0] != 0
+                || rowStart[rows] != values.length || columnIndex.length != values.length) {
+            throw new IllegalArgumentException("rowStart must run from 0 to the number of values over " + rows
+                    + " rows, one column index per value");
+        }
+        for (int i = 0; i < rows; i++) {
+            if (rowStart[i + 1] < rowStart[i]) {
+                throw new IllegalArgumentException("rowStart decreases at row " + (i + 1));
+            }
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                int column = columnIndex[p];
+                if (column < 0 || column >= columns || (p > rowStart[i] && column <= columnIndex[p - 1])) {
+                    throw new IllegalArgumentException("Column indices of row " + i + " must be ascending in 0.." + (columns - 1));
+                }
+            }
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.rowStart = rowStart;
+        this.columnIndex = columnIndex;
+        this.values = values;
+    }
+
+    // CSR copy of jagged rows, zeros dropped
+    public static CsrMatrix of(double[][] matrix) {
+        int columns = matrix.length == 0 ? 0 : matrix[0].length;
+        int[] rowStart = new int[matrix.length + 1];
+        for (int i = 0; i < matrix.length; i++) {
+            if (matrix[i].length != columns) {
+                throw new IllegalArgumentException("Row " + i + " has " + matrix[i].length + " columns, expected " + columns);
+            }
+            int nonZeros = 0;
+            for (double v : matrix[i]) {
+                if (v != 0) {
+                    nonZeros++;
+                }
+            }
+            rowStart[i + 1] = rowStart[i] + nonZeros;
+        }
+        int[] columnIndex = new int[rowStart[matrix.length]];
+        double[] values = new double[rowStart[matrix.length]];
+        for (int i = 0; i < matrix.length; i++) {
+            int p = rowStart[i];
+            for (int j = 0; j < columns; j++) {
+                if (matrix[i][j] != 0) {
+                    columnIndex[p] = j;
+                    values[p++] = matrix[i][j];
+                }
+            }
+        }
+        return new CsrMatrix(matrix.length, columns, rowStart, columnIndex, values);
+    }
+
+    // Row i gets min(columns, nonZerosInRow(i)) uniform [0, 1) values in distinct random columns,
+    // one pick inside each of that many equal slices of the columns
+    static CsrMatrix random(int rows, int columns, IntUnaryOperator nonZerosInRow, Random random) {
+        return random(rows, columns, nonZerosInRow, random::nextDouble, random);
+    }
+
+    // Same columns as above, values drawn from `value` right after each column pick
+    static CsrMatrix random(int rows, int columns, IntUnaryOperator nonZerosInRow, DoubleSupplier value, Random random) {
+        int[] rowStart = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            rowStart[i + 1] = Math.addExact(rowStart[i], Math.max(0, Math.min(columns, nonZerosInRow.applyAsInt(i))));
+        }
+        int[] columnIndex = new int[rowStart[rows]];
+        double[] values = new double[rowStart[rows]];
+        for (int i = 0; i < rows; i++) {
+            int count = rowStart[i + 1] - rowStart[i];
+            for (int q = 0; q < count; q++) {
+                int low = (int) ((long) q * columns / count);
+                int high = (int) ((long) (q + 1) * columns / count);
+                columnIndex[rowStart[i] + q] = low + random.nextInt(high - low);
+                values[rowStart[i] + q] = value.getAsDouble();
+            }
+        }
+        return new CsrMatrix(rows, columns, rowStart, columnIndex, values);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int nonZeros() {
+        return values.length;
+    }
+
+    public long memoryBytes() {
+        return 12L * values.length + 4L * rowStart.length;
+    }
+
+    // Same entries, column by column (a counting sort on the column index)
+    public CscMatrix toCsc() {
+        int[] columnStart = new int[columns + 1];
+        for (int column : columnIndex) {
+            columnStart[column + 1]++;
+        }
+        for (int j = 0; j < columns; j++) {
+            columnStart[j + 1] += columnStart[j];
+        }
+        int[] next = new int[columns];
+        System.arraycopy(columnStart, 0, next, 0, columns);
+        int[] rowIndex = new int[values.length];
+        double[] cscValues = new double[values.length];
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                int q = next[columnIndex[p]]++;
+                rowIndex[q] = i;
+                cscValues[q] = values[p];
+            }
+        }
+        return new CscMatrix(rows, columns, columnStart, rowIndex, cscValues);
+    }
+
+    public DenseMatrix toDense() {
+        DenseMatrix dense = new DenseMatrix(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                dense.values[i * columns + columnIndex[p]] = values[p];
+            }
+        }
+        return dense;
+    }
+}
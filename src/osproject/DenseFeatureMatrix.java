@@ -0,0 +1,76 @@
+package osproject;
+
+// Dense features in one flat row-major array: row i is values[i * columns .. (i + 1) * columns).
+// No per-row object, header or pointer chase, and consecutive rows are adjacent in memory.
+public class DenseFeatureMatrix implements FeatureMatrix {
+    private final int rows, columns;
+    private final double[] values;
+
+    public DenseFeatureMatrix(int rows, int columns, double[] values) {
+        if ((long) rows * columns != values.length) {
+            throw new IllegalArgumentException(rows + " x " + columns + " does not match " + values.length + " values");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    // Flat copy of jagged rows
+    public static DenseFeatureMatrix of(double[][] X) {
+        int columns = X.length == 0 ? 0 : X[0].length;
+        double[] values = new double[Math.multiplyExact(X.length, columns)];
+        for (int i = 0; i < X.length; i++) {
+            if (X[i].length != columns) {
+                throw new IllegalArgumentException("Row " + i + " has " + X[i].length + " columns, expected " + columns);
+            }
+            System.arraycopy(X[i], 0, values, i * columns, columns);
+        }
+        return new DenseFeatureMatrix(X.length, columns, values);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public long storedValues() {
+        return values.length;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return 8L * values.length;
+    }
+
+    @Override
+    public double dot(int row, double[] weights) {
+        int base = row * columns;
+        double sum = 0.0;
+        for (int j = 0; j < columns; j++) {
+            sum += weights[j] * values[base + j];
+        }
+        return sum;
+    }
+
+    @Override
+    public void addGradient(double[] weights, double[] y, int from, int to, double[] gradient) {
+        double[] values = this.values;
+        int columns = this.columns;
+        for (int i = from, base = from * columns; i < to; i++, base += columns) {
+            double prediction = 0.0;
+            for (int j = 0; j < columns; j++) {
+                prediction += weights[j] * values[base + j];
+            }
+            double error = y[i] - LogisticRegression.sigmoid(prediction);
+            for (int j = 0; j < columns; j++) {
+                gradient[j] += error * values[base + j];
+            }
+        }
+    }
+}
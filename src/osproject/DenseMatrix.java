@@ -0,0 +1,65 @@
+package osproject;
+
+import java.util.Random;
+
+// Dense matrix in one flat row-major array: element (i, j) is values[i * columns + j]. Rows are
+// adjacent in memory and there is no per-row object, which is what Gemm's blocking relies on.
+public class DenseMatrix {
+    final int rows, columns;
+    final double[] values;
+
+    public DenseMatrix(int rows, int columns) {
+        this(rows, columns, new double[Math.multiplyExact(rows, columns)]);
+    }
+
+    public DenseMatrix(int rows, int columns, double[] values) {
+        if (rows < 0 || columns < 0 || (long) rows * columns != values.length) {
+            throw new IllegalArgumentException(rows + " x " + columns + " does not match " + values.length + " values");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    // Flat copy of jagged rows
+    public static DenseMatrix of(double[][] matrix) {
+        int columns = matrix.length == 0 ? 0 : matrix[0].length;
+        DenseMatrix result = new DenseMatrix(matrix.length, columns);
+        for (int i = 0; i < matrix.length; i++) {
+            if (matrix[i].length != columns) {
+                throw new IllegalArgumentException("Row " + i + " has " + matrix[i].length + " columns, expected " + columns);
+            }
+            System.arraycopy(matrix[i], 0, result.values, i * columns, columns);
+        }
+        return result;
+    }
+
+    // Uniform [0, 1) entries, like MatrixGenerator
+    public static DenseMatrix random(int rows, int columns, Random random) {
+        DenseMatrix result = new DenseMatrix(rows, columns);
+        for (int i = 0; i < result.values.length; i++) {
+            result.values[i] = random.nextDouble();
+        }
+        return result;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public double get(int i, int j) {
+        return values[i * columns + j];
+    }
+
+    public double[][] toArray() {
+        double[][] matrix = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(values, i * columns, matrix[i], 0, columns);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,46 @@
+package osproject;
+
+// Rows of features for LogisticRegression. The methods are whole-range kernels rather than
+// per-element accessors, so each implementation runs its own tight loop over its own layout and
+// the interface is called once per leaf of a fork/join task, not once per value.
+//  - DenseFeatureMatrix: one flat row-major double[]
+//  - CsrFeatureMatrix: compressed sparse rows, only the non-zeros are stored and visited
+//  - wrap(double[][]): the jagged arrays of the original API, without copying
+public interface FeatureMatrix {
+    int rows();
+
+    int columns();
+
+    // Values the kernels visit per pass: rows x columns when dense, the non-zeros when sparse
+    long storedValues();
+
+    // Approximate heap footprint of the stored features
+    long memoryBytes();
+
+    // weights . row
+    double dot(int row, double[] weights);
+
+    // Add the log-likelihood gradient of rows [from, to), sum of (y - sigmoid(w . x)) x, to gradient
+    void addGradient(double[] weights, double[] y, int from, int to, double[] gradient);
+
+    // weights += scale * gradient, then gradient = 0, where gradient was accumulated over rows
+    // rows[from..to). Sparse implementations visit only the columns those rows touch.
+    default void applyGradient(int[] rows, int from, int to, double scale, double[] gradient, double[] weights) {
+        for (int j = 0; j < weights.length; j++) {
+            weights[j] += scale * gradient[j];
+            gradient[j] = 0;
+        }
+    }
+
+    // out[i] = sigmoid(weights . row i) for rows [from, to), through LogisticRegression.fastSigmoid if fast
+    default void predict(double[] weights, int from, int to, double[] out, boolean fast) {
+        for (int i = from; i < to; i++) {
+            double z = dot(i, weights);
+            out[i] = fast ? LogisticRegression.fastSigmoid(z) : LogisticRegression.sigmoid(z);
+        }
+    }
+
+    static FeatureMatrix wrap(double[][] rows) {
+        return new JaggedFeatureMatrix(rows);
+    }
+}
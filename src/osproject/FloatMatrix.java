@@ -0,0 +1,60 @@
+package osproject;
+
+import java.util.Random;
+
+// Single-precision counterpart of DenseMatrix: element (i, j) is values[i * columns + j]. Half the
+// memory and bandwidth of doubles for workloads that can live with about 7 significant digits.
+public class FloatMatrix {
+    final int rows, columns;
+    final float[] values;
+
+    public FloatMatrix(int rows, int columns) {
+        this(rows, columns, new float[Math.multiplyExact(rows, columns)]);
+    }
+
+    public FloatMatrix(int rows, int columns, float[] values) {
+        if (rows < 0 || columns < 0 || (long) rows * columns != values.length) {
+            throw new IllegalArgumentException(rows + " x " + columns + " does not match " + values.length + " values");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    // Rounded copy of a double matrix
+    public static FloatMatrix of(DenseMatrix matrix) {
+        FloatMatrix result = new FloatMatrix(matrix.rows, matrix.columns);
+        for (int i = 0; i < result.values.length; i++) {
+            result.values[i] = (float) matrix.values[i];
+        }
+        return result;
+    }
+
+    public static FloatMatrix random(int rows, int columns, Random random) {
+        FloatMatrix result = new FloatMatrix(rows, columns);
+        for (int i = 0; i < result.values.length; i++) {
+            result.values[i] = random.nextFloat();
+        }
+        return result;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public float get(int i, int j) {
+        return values[i * columns + j];
+    }
+
+    public DenseMatrix toDense() {
+        DenseMatrix result = new DenseMatrix(rows, columns);
+        for (int i = 0; i < values.length; i++) {
+            result.values[i] = values[i];
+        }
+        return result;
+    }
+}
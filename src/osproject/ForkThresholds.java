@@ -0,0 +1,349 @@
+package osproject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// Picks sequential cutoffs for the fork/join tasks from host measurements instead of magic numbers.
+// On first use of a kernel a background thread times the kernel's leaf loop (ns per unit of work)
+// and, once, the cost of a fork/join pair; until then cutoffs only balance the load. Both are saved
+// to a properties file so later runs start measured; call calibrateAll() at startup to wait for them.
+// The file defaults to ~/.osproject/fork-thresholds.properties, -Dosproject.calibration=<path> moves it.
+public class ForkThresholds {
+
+    // Work units per element differ by kernel, e.g. one row of LOGISTIC_GRADIENT is `features` units.
+    // Each kernel's module supplies the probe that times its leaf loop.
+    public enum Kernel {
+        ARRAY_SUM(ArraySum::probe),                     // unit: one int
+        MIN_ELEMENT(MinElementFinder::probe),           // unit: one int
+        KNN(osproject.KNN::probe),                      // unit: one training point
+        LOGISTIC_GRADIENT(LogisticRegression::probe),   // unit: one feature of one row
+        IMAGE_BLUR(ImageBlur::probe),                   // unit: one neighbour sample
+        BOX_BLUR(BoxBlur::probe),                       // unit: one pixel, both passes
+        QUICK_SORT(SortComparison::quickSortProbe),     // unit: one element
+        MERGE_SORT(SortComparison::mergeSortProbe),     // unit: one element
+        RADIX_SORT(SortComparison::radixSortProbe),     // unit: one element, all digit passes
+        MATRIX_MULTIPLY(Gemm::probe);                   // unit: one multiply-add
+
+        private final Probe probe;
+
+        Kernel(Probe probe) {
+            this.probe = probe;
+        }
+    }
+
+    // Builds a kernel's inputs from random and returns the work to time
+    interface Probe {
+        Workload prepare(Random random);
+    }
+
+    // One repetition of a kernel's leaf loop and the units of work it does
+    static final class Workload {
+        final Runnable work;
+        final long units;
+
+        Workload(Runnable work, long units) {
+            this.work = work;
+            this.units = units;
+        }
+    }
+
+    static final int OVERHEAD_FACTOR = 50;  // A leaf should cost at least 50x one fork/join pair
+    static final int TASKS_PER_WORKER = 8;  // Enough leaves per worker for stealing to balance load
+    static final long PROBE_NANOS = 20_000_000L;          // Shortest probe
+    static final long MAX_PROBE_NANOS = 2_000_000_000L;   // Longest probe, for kernels slow to compile
+
+    // Threshold for task constructors that leave the cutoff to compute(), see resolve()
+    public static final int FROM_POOL = 0;
+
+    // Bump when a probe or a kernel's code changes, so saved costs are measured again
+    static final int FORMAT_VERSION = 2;
+
+    // Measurements only carry over to the same hardware, JVM and kernel implementations: the scalar
+    // and Vector API kernels (-Dosproject.kernels, --add-modules) differ several times in cost
+    private static final String HOST = FORMAT_VERSION + "/" + Runtime.getRuntime().availableProcessors() + "/"
+            + System.getProperty("os.arch") + "/" + System.getProperty("java.vm.version") + "/"
+            + IntKernels.INSTANCE.name() + "/" + GemmKernels.INSTANCE.name();
+    private static final Path FILE = Paths.get(System.getProperty("osproject.calibration",
+            Paths.get(System.getProperty("user.home"), ".osproject", "fork-thresholds.properties").toString()));
+
+    private static final Map<Kernel, Double> unitCost = new EnumMap<>(Kernel.class);
+    private static double taskOverhead = Double.NaN;
+    private static boolean loaded;
+    private static final Object probeLock = new Object(); // One probe at a time, so probes do not skew each other
+    private static final Set<Kernel> requested = EnumSet.noneOf(Kernel.class); // Queued for background calibration
+    private static ExecutorService calibrator; // Started on the first request
+
+    static volatile long sink; // Probes add their results here to keep them alive
+
+    // Cutoff for a task about to compute: a given threshold is kept, FROM_POOL is sized for the
+    // pool running the task
+    public static int resolve(int threshold, Kernel kernel, long elements, double unitsPerElement) {
+        return threshold != FROM_POOL ? threshold : threshold(kernel, elements, unitsPerElement, parallelism());
+    }
+
+    // Parallelism of the pool running the calling thread; a task invoked outside any pool forks
+    // its subtasks into the common pool
+    public static int parallelism() {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        return pool != null ? pool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    // Cutoff in elements: large enough to amortise the fork/join overhead, otherwise as large as
+    // possible while still giving every worker TASKS_PER_WORKER leaves. Never waits for a probe, since
+    // it runs inside pool tasks: a kernel not measured yet gets the balanced cutoff alone and is
+    // queued for calibration in the background.
+    public static int threshold(Kernel kernel, long elements, double unitsPerElement, int parallelism) {
+        long balancedLeaf = (elements + (long) parallelism * TASKS_PER_WORKER - 1) / ((long) parallelism * TASKS_PER_WORKER);
+        Double cost = measuredCost(kernel);
+        double overhead = measuredOverhead();
+        if (cost == null || Double.isNaN(overhead)) {
+            calibrateLater(kernel);
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(1, balancedLeaf));
+        }
+        double costPerElement = Math.max(cost * unitsPerElement, 1e-3);
+        long minLeaf = (long) Math.ceil(OVERHEAD_FACTOR * overhead / costPerElement);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, Math.max(minLeaf, balancedLeaf)));
+    }
+
+    // Queues the kernel, once, on a single daemon thread so probes never run on a pool worker
+    private static synchronized void calibrateLater(Kernel kernel) {
+        if (!requested.add(kernel)) {
+            return;
+        }
+        if (calibrator == null) {
+            calibrator = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fork-thresholds-calibration");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        calibrator.execute(() -> {
+            try {
+                taskOverhead();
+                unitCost(kernel);
+            } catch (RuntimeException e) {
+                System.err.println("Could not calibrate " + kernel + ": " + e);
+            }
+        });
+    }
+
+    // Nanoseconds per unit of the kernel's leaf loop on this host, probing first if it has not been
+    // measured. The probe runs outside the lock guarding the measurements and is published
+    // afterwards, so threshold() never waits behind a probe in progress.
+    public static double unitCost(Kernel kernel) {
+        Double cost = measuredCost(kernel);
+        if (cost != null) {
+            return cost;
+        }
+        synchronized (probeLock) {
+            cost = measuredCost(kernel); // Measured while this thread waited for the probe lock
+            if (cost != null) {
+                return cost;
+            }
+            double measured = probe(kernel);
+            synchronized (ForkThresholds.class) {
+                unitCost.put(kernel, measured);
+                save();
+            }
+            return measured;
+        }
+    }
+
+    private static synchronized Double measuredCost(Kernel kernel) {
+        load();
+        return unitCost.get(kernel);
+    }
+
+    // Nanoseconds for one fork plus join of an empty task, probed outside the lock like unitCost
+    public static double taskOverhead() {
+        double overhead = measuredOverhead();
+        if (!Double.isNaN(overhead)) {
+            return overhead;
+        }
+        synchronized (probeLock) {
+            overhead = measuredOverhead();
+            if (!Double.isNaN(overhead)) {
+                return overhead;
+            }
+            double measured = probeTaskOverhead();
+            synchronized (ForkThresholds.class) {
+                taskOverhead = measured;
+                save();
+            }
+            return measured;
+        }
+    }
+
+    private static synchronized double measuredOverhead() {
+        load();
+        return taskOverhead;
+    }
+
+    // Measure everything up front, e.g. at service startup, so the first tasks already get
+    // overhead-aware cutoffs
+    public static void calibrateAll() {
+        taskOverhead();
+        for (Kernel kernel : Kernel.values()) {
+            unitCost(kernel);
+        }
+    }
+
+    private static void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.isRegularFile(FILE)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(FILE)) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            return; // Unreadable calibration is simply measured again
+        }
+        if (!HOST.equals(properties.getProperty("host"))) {
+            return; // Measured on different hardware, JVM, kernels or calibration format
+        }
+        // Anything that is not a positive finite number is dropped and measured again
+        taskOverhead = parseCost(properties.getProperty("task.overhead.ns"));
+        for (Kernel kernel : Kernel.values()) {
+            double cost = parseCost(properties.getProperty(kernel.name() + ".ns"));
+            if (!Double.isNaN(cost)) {
+                unitCost.put(kernel, cost);
+            }
+        }
+    }
+
+    private static double parseCost(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            double cost = Double.parseDouble(value);
+            return Double.isFinite(cost) && cost > 0 ? cost : Double.NaN;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // Written to a temporary file next to FILE and moved over it, so other JVMs sharing the file
+    // read either the old or the new version, never a half-written one
+    private static void save() {
+        Properties properties = new Properties();
+        properties.setProperty("host", HOST);
+        if (!Double.isNaN(taskOverhead)) {
+            properties.setProperty("task.overhead.ns", Double.toString(taskOverhead));
+        }
+        for (Map.Entry<Kernel, Double> entry : unitCost.entrySet()) {
+            properties.setProperty(entry.getKey().name() + ".ns", Double.toString(entry.getValue()));
+        }
+        Path temp = null;
+        try {
+            Path parent = FILE.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            temp = Files.createTempFile(parent, FILE.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Fork/join calibration, delete to measure again");
+            }
+            Files.move(temp, FILE, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Could not save fork threshold calibration to " + FILE + ": " + e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Left behind; the next save writes a new temporary file
+                }
+            }
+        }
+    }
+
+    // Time `work` repeatedly and return the best ns per unit, so JIT warm-up and noise only make it
+    // lower. Runs until the best has not improved by 5% for half the time spent so far: the Vector
+    // API kernels are several hundred times slower than their compiled form for most of a second.
+    private static double measure(Runnable work, long units) {
+        double best = Double.MAX_VALUE;
+        long begin = System.nanoTime(), improved = begin, now = begin;
+        int rounds = 0;
+        while (rounds < 3 || (now - begin < MAX_PROBE_NANOS
+                && (now - begin < PROBE_NANOS || now - improved < (improved - begin) / 2 + PROBE_NANOS))) {
+            long start = System.nanoTime();
+            work.run();
+            now = System.nanoTime();
+            double nanos = (double) (now - start) / units;
+            if (nanos < 0.95 * best) {
+                improved = now;
+            }
+            best = Math.min(best, nanos);
+            rounds++;
+        }
+        return best;
+    }
+
+    private static double probe(Kernel kernel) {
+        Workload workload = kernel.probe.prepare(new Random(42));
+        return measure(workload.work, workload.units);
+    }
+
+    // Splits down to single-element leaves that do nothing, so the time is all task overhead
+    static class EmptyTask extends RecursiveAction {
+        private int start, end;
+
+        EmptyTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int mid = (start + end) >>> 1;
+                EmptyTask left = new EmptyTask(start, mid);
+                left.fork();
+                new EmptyTask(mid, end).compute();
+                left.join();
+            }
+        }
+    }
+
+    private static double probeTaskOverhead() {
+        int leaves = 1 << 14;
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            return measure(() -> pool.invoke(new EmptyTask(0, leaves)), leaves - 1); // leaves - 1 forks
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void main(String[] args) {
+        long startTime = System.currentTimeMillis();
+        calibrateAll();
+        long endTime = System.currentTimeMillis();
+        System.out.println("Calibration file: " + FILE);
+        System.out.println("Calibration time: " + (endTime - startTime) + " ms");
+        System.out.println("Fork/join overhead: " + taskOverhead() + " ns");
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        for (Kernel kernel : Kernel.values()) {
+            System.out.println(kernel + ": " + unitCost(kernel) + " ns/unit, threshold for 1,000,000 units on "
+                    + parallelism + " threads = " + threshold(kernel, 1000000, 1, parallelism));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package osproject;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Cache-blocked multiply-accumulate on row-major double[] or float[] storage, C += A * B with A
+// m x k, B k x n and C m x n. Each operand is an array, an offset and a leading dimension (the
+// distance between rows), so blocks of a larger matrix are passed without copying.
+//
+// Loop nest after Goto and van de Geijn:
+//  - B is cut into KC x NC blocks, each packed into a panel of NR-column strips (KC x NR, zero
+//    padded) so the micro-kernel reads B at unit stride. The panel (512 KB of doubles) stays in
+//    L2 while every row of A streams past it.
+//  - The micro-kernel (GemmKernels: a 4 x 4 scalar tile, or 4 rows by two vectors with the Vector
+//    API) keeps an MR x NR tile of C in registers across the whole KC loop, so C is touched once
+//    per panel instead of once per k. NR is the kernel's tile width.
+// The float path is the same loop nest; floats halve the bytes moved per element and fit twice the
+// lanes in a vector, at about 7 significant digits instead of 16.
+final class Gemm {
+    static final GemmKernels KERNELS = GemmKernels.INSTANCE;
+    static final int MR = 4;
+    static final int NR = KERNELS.doubleColumns();
+    static final int FLOAT_NR = KERNELS.floatColumns();
+    static final int KC = 256;
+    static final int NC = 256;
+
+    private Gemm() {
+    }
+
+    // Panel buffer big enough for any call with these inner dimensions, reusable across calls
+    static double[] panel(int k, int n) {
+        int nc = Math.min(NC, n);
+        return new double[Math.min(KC, k) * ((nc + NR - 1) / NR * NR)];
+    }
+
+    static float[] floatPanel(int k, int n) {
+        int nc = Math.min(NC, n);
+        return new float[Math.min(KC, k) * ((nc + FLOAT_NR - 1) / FLOAT_NR * FLOAT_NR)];
+    }
+
+    static void multiplyAdd(int m, int n, int k, double[] a, int aOffset, int lda,
+                            double[] b, int bOffset, int ldb, double[] c, int cOffset, int ldc) {
+        multiplyAdd(m, n, k, a, aOffset, lda, b, bOffset, ldb, c, cOffset, ldc, panel(k, n));
+    }
+
+    static void multiplyAdd(int m, int n, int k, double[] a, int aOffset, int lda,
+                            double[] b, int bOffset, int ldb, double[] c, int cOffset, int ldc, double[] panel) {
+        double[] edge = new double[MR * NR];
+        for (int jc = 0; jc < n; jc += NC) {
+            int nc = Math.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                pack(b, bOffset + pc * ldb + jc, ldb, kc, nc, panel);
+                for (int i = 0; i < m; i += MR) {
+                    int mr = Math.min(MR, m - i);
+                    int aRow = aOffset + i * lda + pc;
+                    for (int j = 0; j < nc; j += NR) {
+                        int nr = Math.min(NR, nc - j);
+                        int cTile = cOffset + i * ldc + jc + j;
+                        if (mr == MR && nr == NR) {
+                            KERNELS.tile(kc, a, aRow, lda, panel, j * kc, c, cTile, ldc);
+                        } else if (mr == MR) {
+                            // Right edge: the padded strip makes a whole tile, computed aside
+                            Arrays.fill(edge, 0);
+                            KERNELS.tile(kc, a, aRow, lda, panel, j * kc, edge, 0, NR);
+                            for (int ii = 0; ii < MR; ii++) {
+                                for (int jj = 0; jj < nr; jj++) {
+                                    c[cTile + ii * ldc + jj] += edge[ii * NR + jj];
+                                }
+                            }
+                        } else {
+                            edgeKernel(kc, mr, nr, a, aRow, lda, panel, j * kc, c, cTile, ldc);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static void multiplyAdd(int m, int n, int k, float[] a, int aOffset, int lda,
+                            float[] b, int bOffset, int ldb, float[] c, int cOffset, int ldc) {
+        multiplyAdd(m, n, k, a, aOffset, lda, b, bOffset, ldb, c, cOffset, ldc, floatPanel(k, n));
+    }
+
+    static void multiplyAdd(int m, int n, int k, float[] a, int aOffset, int lda,
+                            float[] b, int bOffset, int ldb, float[] c, int cOffset, int ldc, float[] panel) {
+        float[] edge = new float[MR * FLOAT_NR];
+        for (int jc = 0; jc < n; jc += NC) {
+            int nc = Math.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                pack(b, bOffset + pc * ldb + jc, ldb, kc, nc, panel);
+                for (int i = 0; i < m; i += MR) {
+                    int mr = Math.min(MR, m - i);
+                    int aRow = aOffset + i * lda + pc;
+                    for (int j = 0; j < nc; j += FLOAT_NR) {
+                        int nr = Math.min(FLOAT_NR, nc - j);
+                        int cTile = cOffset + i * ldc + jc + j;
+                        if (mr == MR && nr == FLOAT_NR) {
+                            KERNELS.tile(kc, a, aRow, lda, panel, j * kc, c, cTile, ldc);
+                        } else if (mr == MR) {
+                            // Right edge: the padded strip makes a whole tile, computed aside
+                            Arrays.fill(edge, 0);
+                            KERNELS.tile(kc, a, aRow, lda, panel, j * kc, edge, 0, FLOAT_NR);
+                            for (int ii = 0; ii < MR; ii++) {
+                                for (int jj = 0; jj < nr; jj++) {
+                                    c[cTile + ii * ldc + jj] += edge[ii * FLOAT_NR + jj];
+                                }
+                            }
+                        } else {
+                            edgeKernel(kc, mr, nr, a, aRow, lda, panel, j * kc, c, cTile, ldc);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Leaf loop timed by ForkThresholds for Kernel.MATRIX_MULTIPLY: one 128 x 128 x 128 block
+    static ForkThresholds.Workload probe(Random random) {
+        int size = 128;
+        DenseMatrix a = DenseMatrix.random(size, size, random);
+        DenseMatrix b = DenseMatrix.random(size, size, random);
+        double[] c = new double[size * size];
+        double[] panel = panel(size, size);
+        return new ForkThresholds.Workload(() -> multiplyAdd(size, size, size, a.values, 0, size, b.values, 0, size, c, 0, size, panel),
+                (long) size * size * size);
+    }
+
+    // Strip s of the panel holds columns [s * NR, s * NR + NR) of the block, row by row:
+    // panel[s * NR * kc + p * NR + jj] = B[p][s * NR + jj]
+    private static void pack(double[] b, int offset, int ldb, int kc, int nc, double[] panel) {
+        for (int j = 0; j < nc; j += NR) {
+            int nr = Math.min(NR, nc - j);
+            int strip = j * kc;
+            for (int p = 0; p < kc; p++) {
+                int row = offset + p * ldb + j;
+                int to = strip + p * NR;
+                System.arraycopy(b, row, panel, to, nr);
+                for (int jj = nr; jj < NR; jj++) {
+                    panel[to + jj] = 0;
+                }
+            }
+        }
+    }
+
+    private static void pack(float[] b, int offset, int ldb, int kc, int nc, float[] panel) {
+        for (int j = 0; j < nc; j += FLOAT_NR) {
+            int nr = Math.min(FLOAT_NR, nc - j);
+            int strip = j * kc;
+            for (int p = 0; p < kc; p++) {
+                int row = offset + p * ldb + j;
+                int to = strip + p * FLOAT_NR;
+                System.arraycopy(b, row, panel, to, nr);
+                for (int jj = nr; jj < FLOAT_NR; jj++) {
+                    panel[to + jj] = 0;
+                }
+            }
+        }
+    }
+
+    // Partial tile at the bottom edge: mr < MR rows, nr columns
+    private static void edgeKernel(int kc, int mr, int nr, double[] a, int aRow, int lda, double[] panel, int strip,
+                                   double[] c, int cTile, int ldc) {
+        for (int ii = 0; ii < mr; ii++) {
+            int aRowI = aRow + ii * lda;
+            for (int jj = 0; jj < nr; jj++) {
+                double sum = 0;
+                for (int p = 0, pb = strip + jj; p < kc; p++, pb += NR) {
+                    sum += a[aRowI + p] * panel[pb];
+                }
+                c[cTile + ii * ldc + jj] += sum;
+            }
+        }
+    }
+
+    private static void edgeKernel(int kc, int mr, int nr, float[] a, int aRow, int lda, float[] panel, int strip,
+                                   float[] c, int cTile, int ldc) {
+        for (int ii = 0; ii < mr; ii++) {
+            int aRowI = aRow + ii * lda;
+            for (int jj = 0; jj < nr; jj++) {
+                float sum = 0;
+                for (int p = 0, pb = strip + jj; p < kc; p++, pb += FLOAT_NR) {
+                    sum += a[aRowI + p] * panel[pb];
+                }
+                c[cTile + ii * ldc + jj] += sum;
+            }
+        }
+    }
+}
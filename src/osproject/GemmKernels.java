@@ -0,0 +1,34 @@
+package osproject;
+
+// Micro-kernels for Gemm: C[0..MR)[0..columns) += A[0..MR)[0..kc) * panel strip, for double and
+// float operands, where a panel strip stores kc rows of the tile's columns contiguously. INSTANCE
+// is the Vector API implementation when jdk.incubator.vector is available (java --add-modules
+// jdk.incubator.vector), the scalar one otherwise; -Dosproject.kernels=scalar forces the scalar
+// kernels for comparison, as for IntKernels.
+public interface GemmKernels {
+    GemmKernels INSTANCE = select();
+
+    // Tile width in columns, the width of a panel strip
+    int doubleColumns();
+
+    int floatColumns();
+
+    void tile(int kc, double[] a, int aRow, int lda, double[] panel, int strip, double[] c, int cTile, int ldc);
+
+    void tile(int kc, float[] a, int aRow, int lda, float[] panel, int strip, float[] c, int cTile, int ldc);
+
+    String name();
+
+    private static GemmKernels select() {
+        if (!"scalar".equals(System.getProperty("osproject.kernels"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded by name so this interface still links when the module is absent
+                return (GemmKernels) Class.forName("osproject.VectorGemmKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar kernels
+            }
+        }
+        return new ScalarGemmKernels();
+    }
+}
@@ -0,0 +1,145 @@
+package osproject;
+
+// Uniform grid over the bounding box of a low-dimensional TrainingSet, with about pointsPerCell
+// points per cell. Points are stored cell by cell (counting sort), coordinates row-major, so a
+// cell is one contiguous run. A query visits rings of cells around its own cell, nearest ring
+// first. The search stops once no unvisited cell can hold a closer point, which is exact, or
+// extraRings rings after the heap first filled up, whichever comes first; extraRings = 0 is the
+// fastest and least accurate setting.
+class GridIndex extends ApproximateIndex {
+    static final int POINTS_PER_CELL = 8;
+
+    final int dims;
+    final int cellsPerDim;
+    final double[] origin;
+    final double[] cellSide;
+    final double minCellSide;
+    final int[] strides;
+    final int[] cellStart; // points of cell c are positions [cellStart[c], cellStart[c + 1])
+    final int[] ids;       // training index of each position
+    final double[] coords; // row-major, position order
+    final int extraRings;
+
+    GridIndex(TrainingSet trainingSet, int pointsPerCell, int extraRings) {
+        super(trainingSet);
+        if (trainingSet.dims > GRID_MAX_DIMS) {
+            throw new IllegalArgumentException("A grid over " + trainingSet.dims + " dimensions has too many neighbour cells, use LSHIndex");
+        }
+        if (pointsPerCell < 1 || extraRings < 0) {
+            throw new IllegalArgumentException("pointsPerCell must be positive and extraRings not negative");
+        }
+        this.dims = trainingSet.dims;
+        this.extraRings = extraRings;
+        int size = trainingSet.size;
+
+        cellsPerDim = Math.max(1, (int) Math.round(Math.pow((double) size / pointsPerCell, 1.0 / dims)));
+        origin = new double[dims];
+        cellSide = new double[dims];
+        double smallest = Double.POSITIVE_INFINITY;
+        for (int d = 0; d < dims; d++) {
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (double v : trainingSet.columns[d]) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            origin[d] = size == 0 ? 0 : min;
+            cellSide[d] = max > min ? (max - min) / cellsPerDim : 1;
+            smallest = Math.min(smallest, cellSide[d]);
+        }
+        minCellSide = smallest;
+        strides = new int[dims];
+        int cells = 1;
+        for (int d = 0; d < dims; d++) {
+            strides[d] = cells;
+            cells *= cellsPerDim;
+        }
+
+        // Counting sort of the points by cell
+        int[] cellOfPoint = new int[size];
+        cellStart = new int[cells + 1];
+        for (int i = 0; i < size; i++) {
+            int cell = 0;
+            for (int d = 0; d < dims; d++) {
+                cell += cellOf(trainingSet.columns[d][i], d) * strides[d];
+            }
+            cellOfPoint[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] next = new int[cells];
+        System.arraycopy(cellStart, 0, next, 0, cells);
+        ids = new int[size];
+        coords = new double[size * dims];
+        for (int i = 0; i < size; i++) {
+            int position = next[cellOfPoint[i]]++;
+            ids[position] = i;
+            for (int d = 0; d < dims; d++) {
+                coords[position * dims + d] = trainingSet.columns[d][i];
+            }
+        }
+    }
+
+    // Cell coordinate along d, points outside the box go to the border cells
+    private int cellOf(double v, int d) {
+        int cell = (int) Math.floor((v - origin[d]) / cellSide[d]);
+        return Math.max(0, Math.min(cellsPerDim - 1, cell));
+    }
+
+    @Override
+    void search(double[] query, NeighbourHeap heap) {
+        int[] center = new int[dims];
+        for (int d = 0; d < dims; d++) {
+            center[d] = cellOf(query[d], d);
+        }
+        int lastRing = Integer.MAX_VALUE;
+        for (int ring = 0; ring < cellsPerDim && ring <= lastRing; ring++) {
+            // Every point of this ring is at least (ring - 1) cells away along some axis
+            double bound = (ring - 1) * minCellSide;
+            if (ring > 1 && bound * bound > heap.worst()) {
+                break;
+            }
+            visitRing(query, heap, center, ring, 0, false, 0);
+            if (lastRing == Integer.MAX_VALUE && heap.isFull()) {
+                lastRing = ring + extraRings;
+            }
+        }
+    }
+
+    // Visit the cells at Chebyshev distance exactly ring from center. Dimensions are fixed one at
+    // a time; once no fixed coordinate lies on the ring's surface, the last one has to.
+    private void visitRing(double[] query, NeighbourHeap heap, int[] center, int ring, int d, boolean onSurface, int cell) {
+        int low = Math.max(0, center[d] - ring);
+        int high = Math.min(cellsPerDim - 1, center[d] + ring);
+        if (d == dims - 1 && !onSurface) {
+            if (center[d] - ring >= 0) {
+                visitCell(query, heap, cell + (center[d] - ring) * strides[d]);
+            }
+            if (ring > 0 && center[d] + ring < cellsPerDim) {
+                visitCell(query, heap, cell + (center[d] + ring) * strides[d]);
+            }
+            return;
+        }
+        for (int c = low; c <= high; c++) {
+            boolean surface = onSurface || Math.abs(c - center[d]) == ring;
+            if (d == dims - 1) {
+                visitCell(query, heap, cell + c * strides[d]);
+            } else {
+                visitRing(query, heap, center, ring, d + 1, surface, cell + c * strides[d]);
+            }
+        }
+    }
+
+    private void visitCell(double[] query, NeighbourHeap heap, int cell) {
+        for (int position = cellStart[cell]; position < cellStart[cell + 1]; position++) {
+            double sum = 0;
+            int base = position * dims;
+            for (int d = 0; d < dims; d++) {
+                double diff = query[d] - coords[base + d];
+                sum += diff * diff;
+            }
+            heap.offer(sum, ids[position]);
+        }
+    }
+}
@@ -1,7 +1,10 @@
+package osproject;
+
 import java.awt.image.BufferedImage;
 import java.io.File;
 import javax.imageio.ImageIO;
 import java.awt.Color;
+import java.util.Random;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 
@@ -14,18 +17,27 @@ public class ImageBlur {
         private int start;
         private int end;
         private int radius;
+        private int threshold;
 
         BlurTask(BufferedImage src, BufferedImage dest, int start, int end, int radius) {
+            this(src, dest, start, end, radius, ForkThresholds.FROM_POOL);
+        }
+
+        BlurTask(BufferedImage src, BufferedImage dest, int start, int end, int radius, int threshold) {
             this.src = src;
             this.dest = dest;
             this.start = start;
             this.end = end;
             this.radius = radius;
+            this.threshold = threshold;
         }
 
         @Override
         protected void compute() {
-            if (end - start < 100) {
+            // Threshold is in columns, each costing height * (2r+1)^2 neighbour samples
+            threshold = ForkThresholds.resolve(threshold, ForkThresholds.Kernel.IMAGE_BLUR, end - start,
+                    (double) src.getHeight() * (2 * radius + 1) * (2 * radius + 1));
+            if (end - start < threshold) {
                 for (int x = start; x < end; x++) {
                     for (int y = 0; y < src.getHeight(); y++) {
                         applyBlurToPixel(src, dest, x, y, radius);
@@ -33,8 +45,8 @@ public class ImageBlur {
                 }
             } else {
                 int mid = (start + end) / 2;
-                invokeAll(new BlurTask(src, dest, start, mid, radius),
-                        new BlurTask(src, dest, mid, end, radius));
+                invokeAll(new BlurTask(src, dest, start, mid, radius, threshold),
+                        new BlurTask(src, dest, mid, end, radius, threshold));
             }
         }
 
@@ -62,7 +74,7 @@ public class ImageBlur {
     }
 
     // Serial method for blur
-    private static void applyBlur(BufferedImage src, BufferedImage dest, int radius) {
+    static void applyBlur(BufferedImage src, BufferedImage dest, int radius) {
         int width = src.getWidth();
         int height = src.getHeight();
 
@@ -91,7 +103,26 @@ public class ImageBlur {
         }
     }
 
+    // Leaf loop timed by ForkThresholds for Kernel.IMAGE_BLUR
+    static ForkThresholds.Workload probe(Random random) {
+        int side = 64, radius = 2;
+        BufferedImage src = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                src.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        BufferedImage dest = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        long samples = (long) side * side * (2 * radius + 1) * (2 * radius + 1);
+        return new ForkThresholds.Workload(() -> applyBlur(src, dest, radius), samples);
+    }
+
     public static void main(String[] args) throws Exception {
+        if (args.length >= 2) { // ImageBlur <input dir> <output dir> [radius]: batch mode
+            BatchBlur.main(args);
+            return;
+        }
+
         File inputFile = new File("C:\\Users\\klike\\OneDrive\\Documents\\GitHub\\OS-\\Project\\untitled\\pexels-luisdalvan-1770809.jpg");
         BufferedImage inputImage = ImageIO.read(inputFile);
         BufferedImage outputImage = new BufferedImage(inputImage.getWidth(), inputImage.getHeight(), inputImage.getType());
@@ -115,6 +146,24 @@ public class ImageBlur {
         endTime = System.currentTimeMillis();
         System.out.println("Serial blur processing time: " + (endTime - startTime) + " ms");
 
+        // Sliding-window box blur, same output at O(1) cost per pixel
+        BufferedImage boxOutputImage = new BufferedImage(inputImage.getWidth(), inputImage.getHeight(), inputImage.getType());
+        startTime = System.currentTimeMillis();
+        BoxBlur.blur(inputImage, boxOutputImage, 6);
+        endTime = System.currentTimeMillis();
+        System.out.println("Serial box blur processing time: " + (endTime - startTime) + " ms");
+
+        startTime = System.currentTimeMillis();
+        BoxBlur.blurParallel(inputImage, boxOutputImage, 6, pool);
+        endTime = System.currentTimeMillis();
+        System.out.println("Parallel box blur processing time: " + (endTime - startTime) + " ms");
+
+        // Gaussian of a similar extent through the tiled convolution engine
+        startTime = System.currentTimeMillis();
+        new TiledConvolution(pool).apply(inputImage, boxOutputImage, ConvolutionKernel.gaussian(3));
+        endTime = System.currentTimeMillis();
+        System.out.println("Parallel tiled Gaussian processing time: " + (endTime - startTime) + " ms");
+
         // Save serial output image
         File outputSerialFile = new File("C:\\Users\\klike\\OneDrive\\Documents\\GitHub\\OS-\\Project\\untitled\\serial_output.jpg");
         ImageIO.write(serialOutputImage, "jpg", outputSerialFile);
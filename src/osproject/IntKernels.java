@@ -0,0 +1,30 @@
+package osproject;
+
+// Leaf loops over an int[] range shared by the serial and fork/join paths of ArraySum and
+// MinElementFinder. INSTANCE is the Vector API implementation when jdk.incubator.vector is
+// available (java --add-modules jdk.incubator.vector), the scalar one otherwise; setting
+// -Dosproject.kernels=scalar forces the scalar loops for comparison.
+public interface IntKernels {
+    IntKernels INSTANCE = select();
+
+    // Sum of a[from..to), widened to long
+    long sum(int[] a, int from, int to);
+
+    // Minimum of a[from..to), Integer.MAX_VALUE for an empty range
+    int min(int[] a, int from, int to);
+
+    String name();
+
+    private static IntKernels select() {
+        if (!"scalar".equals(System.getProperty("osproject.kernels"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded by name so this interface still links when the module is absent
+                return (IntKernels) Class.forName("osproject.VectorIntKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar loops
+            }
+        }
+        return new ScalarIntKernels();
+    }
+}
@@ -0,0 +1,57 @@
+package osproject;
+
+// FeatureMatrix view of double[][] rows, so the array-based API shares the matrix kernels
+class JaggedFeatureMatrix implements FeatureMatrix {
+    private final double[][] X;
+    private final int columns;
+
+    JaggedFeatureMatrix(double[][] X) {
+        this.X = X;
+        this.columns = X.length == 0 ? 0 : X[0].length;
+    }
+
+    @Override
+    public int rows() {
+        return X.length;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public long storedValues() {
+        return (long) X.length * columns;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return (long) X.length * (16 + 8L * columns + 8); // Array header, values and the reference to it
+    }
+
+    @Override
+    public double dot(int row, double[] weights) {
+        double[] x = X[row];
+        double sum = 0.0;
+        for (int j = 0; j < weights.length; j++) {
+            sum += weights[j] * x[j];
+        }
+        return sum;
+    }
+
+    @Override
+    public void addGradient(double[] weights, double[] y, int from, int to, double[] gradient) {
+        for (int i = from; i < to; i++) {
+            double[] x = X[i];
+            double prediction = 0.0;
+            for (int j = 0; j < weights.length; j++) {
+                prediction += weights[j] * x[j];
+            }
+            double error = y[i] - LogisticRegression.sigmoid(prediction);
+            for (int j = 0; j < weights.length; j++) {
+                gradient[j] += error * x[j];
+            }
+        }
+    }
+}
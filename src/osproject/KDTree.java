@@ -0,0 +1,216 @@
+package osproject;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Static KD-tree over a TrainingSet for KNN. The tree is implicit: points are reordered so
+// that every subtree is a contiguous range whose median (split) point sits in the middle, with
+// coordinates and original indices stored in flat arrays in that order. Each split uses
+// the dimension with the widest spread. Ranges of at most LEAF_SIZE points are scanned directly.
+// Queries keep the k best candidates in a NeighbourHeap on squared distances, so the result is
+// exactly the k nearest by (distance, training index), like KNN.classify.
+public class KDTree {
+    static final int LEAF_SIZE = 8;
+
+    final int dims;
+    final int size;
+    final double[] coords; // size x dims, row-major, tree order
+    final int[] ids;       // training index of each tree position
+    final int[] axes;      // split dimension of the node whose point sits at this position
+    final TrainingSet trainingSet;
+
+    // Build on the calling thread
+    public KDTree(Point[] trainingSet) {
+        this(trainingSet, null);
+    }
+
+    // Build with subtrees forked on the pool, worthwhile for large training sets
+    public KDTree(Point[] trainingSet, ForkJoinPool pool) {
+        this(TrainingSet.of(trainingSet), pool);
+    }
+
+    public KDTree(TrainingSet trainingSet) {
+        this(trainingSet, null);
+    }
+
+    // Pruning gets weaker as dimensions grow, beyond a dozen or so a scan of the TrainingSet is as fast
+    public KDTree(TrainingSet trainingSet, ForkJoinPool pool) {
+        this.trainingSet = trainingSet;
+        this.dims = trainingSet.dims;
+        this.size = trainingSet.size;
+        this.axes = new int[size];
+        double[][] columns = trainingSet.columns;
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (pool == null) {
+            build(columns, order, 0, size);
+        } else {
+            // A split level is a quickselect pass, so it costs about what a quicksort level does
+            int threshold = Math.max(LEAF_SIZE, ForkThresholds.threshold(ForkThresholds.Kernel.QUICK_SORT, size, 1, pool.getParallelism()));
+            pool.invoke(new BuildTask(this, columns, order, 0, size, threshold));
+        }
+
+        // Row-major copy in tree order: a visited node or leaf reads one contiguous run
+        coords = new double[size * dims];
+        ids = order;
+        for (int d = 0; d < dims; d++) {
+            double[] column = columns[d];
+            for (int i = 0; i < size; i++) {
+                coords[i * dims + d] = column[order[i]];
+            }
+        }
+    }
+
+    // Arrange order[lo..hi) into a subtree
+    void build(double[][] columns, int[] order, int lo, int hi) {
+        while (hi - lo > LEAF_SIZE) {
+            int mid = split(columns, order, lo, hi);
+            build(columns, order, lo, mid);
+            lo = mid + 1;
+        }
+    }
+
+    // Pick the widest dimension, move the median into mid and the smaller/larger points around it
+    int split(double[][] columns, int[] order, int lo, int hi) {
+        int axis = 0;
+        double widest = -1;
+        for (int d = 0; d < dims; d++) {
+            double[] column = columns[d];
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                double v = column[order[i]];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            if (max - min > widest) {
+                widest = max - min;
+                axis = d;
+            }
+        }
+        int mid = (lo + hi) >>> 1;
+        select(columns[axis], order, lo, hi - 1, mid);
+        axes[mid] = axis;
+        return mid;
+    }
+
+    // Quickselect: order[k] ends up holding the point that would be there if [left, right] were sorted by column
+    private static void select(double[] column, int[] order, int left, int right, int k) {
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+            double pivot = column[order[middle]];
+            int i = left, j = right;
+            while (i <= j) {
+                while (column[order[i]] < pivot) {
+                    i++;
+                }
+                while (column[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Parallel build: both subtrees of a split are independent ranges of the same order array
+    static class BuildTask extends RecursiveAction {
+        private KDTree tree;
+        private double[][] columns;
+        private int[] order;
+        private int lo, hi;
+        private int threshold;
+
+        BuildTask(KDTree tree, double[][] columns, int[] order, int lo, int hi, int threshold) {
+            this.tree = tree;
+            this.columns = columns;
+            this.order = order;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                tree.build(columns, order, lo, hi);
+            } else {
+                int mid = tree.split(columns, order, lo, hi);
+                invokeAll(new BuildTask(tree, columns, order, lo, mid, threshold),
+                        new BuildTask(tree, columns, order, mid + 1, hi, threshold));
+            }
+        }
+    }
+
+    public int classify(Point testPoint, int k) {
+        return classify(testPoint.coordinates(), k);
+    }
+
+    public int classify(double[] query, int k) {
+        NeighbourHeap heap = new NeighbourHeap(k);
+        search(query, heap);
+        return trainingSet.vote(heap);
+    }
+
+    // Training indices of the k nearest points, nearest first
+    public int[] nearest(double[] query, int k) {
+        NeighbourHeap heap = new NeighbourHeap(k);
+        search(query, heap);
+        return heap.sortedIds();
+    }
+
+    // Fill heap (ids are training indices) with the nearest points to query
+    void search(double[] query, NeighbourHeap heap) {
+        trainingSet.checkQuery(query);
+        search(query, heap, 0, size);
+    }
+
+    private void search(double[] query, NeighbourHeap heap, int lo, int hi) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++) {
+                heap.offer(distanceSquared(query, i), ids[i]);
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        heap.offer(distanceSquared(query, mid), ids[mid]);
+        int axis = axes[mid];
+        double diff = query[axis] - coords[mid * dims + axis];
+        // Nearer side first, the other only if the splitting plane is within the current k-th distance
+        if (diff < 0) {
+            search(query, heap, lo, mid);
+            if (diff * diff <= heap.worst()) {
+                search(query, heap, mid + 1, hi);
+            }
+        } else {
+            search(query, heap, mid + 1, hi);
+            if (diff * diff <= heap.worst()) {
+                search(query, heap, lo, mid);
+            }
+        }
+    }
+
+    private double distanceSquared(double[] query, int position) {
+        double sum = 0;
+        int base = position * dims;
+        for (int d = 0; d < dims; d++) {
+            double diff = query[d] - coords[base + d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}
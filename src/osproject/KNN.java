@@ -0,0 +1,281 @@
+package osproject;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.Random;
+
+public class KNN {
+
+    // Serial k-Nearest Neighbors: one scan keeping the k closest in a bounded heap, O(n log k)
+    // instead of sorting the whole training set, and the caller's array is left untouched
+    static int classify(Point[] trainingSet, Point testPoint, int k) {
+        NeighbourHeap heap = new NeighbourHeap(k);
+        scan(trainingSet, testPoint, 0, trainingSet.length, heap);
+        return vote(trainingSet, heap);
+    }
+
+    // Leaf loop timed by ForkThresholds for Kernel.KNN
+    static ForkThresholds.Workload probe(Random random) {
+        Point[] trainingSet = new Point[2048];
+        for (int i = 0; i < trainingSet.length; i++) {
+            trainingSet[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextInt(10));
+        }
+        Point testPoint = new Point(50, 50, 0);
+        return new ForkThresholds.Workload(() -> ForkThresholds.sink += classify(trainingSet, testPoint, 5), trainingSet.length);
+    }
+
+    // Columnar k-Nearest Neighbors, for any number of dimensions
+    static int classify(TrainingSet trainingSet, double[] testPoint, int k) {
+        NeighbourHeap heap = new NeighbourHeap(k);
+        trainingSet.scan(testPoint, 0, trainingSet.size, heap, new double[TrainingSet.BLOCK]);
+        return trainingSet.vote(heap);
+    }
+
+    // Offer trainingSet[from..to) to the heap, ids are indices into trainingSet
+    static void scan(Point[] trainingSet, Point testPoint, int from, int to, NeighbourHeap heap) {
+        for (int i = from; i < to; i++) {
+            double distance = Point.distanceSquared(testPoint, trainingSet[i]);
+            if (distance <= heap.worst()) {
+                heap.offer(distance, i);
+            }
+        }
+    }
+
+    // Majority label of the candidates in the heap
+    static int vote(Point[] trainingSet, NeighbourHeap heap) {
+        int[] votes = new int[10]; // Assuming labels are from 0 to 9
+        for (int i = 0; i < heap.size; i++) {
+            votes[trainingSet[heap.ids[i]].label]++;
+        }
+        return getMaxIndex(votes);
+    }
+
+    // Helper method to find the index with the maximum value
+    static int getMaxIndex(int[] array) {
+        int maxIndex = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] > array[maxIndex]) {
+                maxIndex = i;
+            }
+        }
+        return maxIndex;
+    }
+
+    // Parallel k-Nearest Neighbors of one test point
+    static int classifyParallel(Point[] trainingSet, Point testPoint, int k, ForkJoinPool pool) {
+        return vote(trainingSet, pool.invoke(new KNNParallel(trainingSet, testPoint, k, 0, trainingSet.length)));
+    }
+
+    // Parallel k-Nearest Neighbors using ForkJoin. Every shard returns its k best candidates and the
+    // candidate lists are merged, not the shard votes, so the result is the same as the serial one.
+    static class KNNParallel extends RecursiveTask<NeighbourHeap> {
+        private Point[] trainingSet;
+        private Point testPoint;
+        private int k, start, end;
+        private int threshold;
+
+        KNNParallel(Point[] trainingSet, Point testPoint, int k, int start, int end) {
+            this(trainingSet, testPoint, k, start, end, ForkThresholds.FROM_POOL);
+        }
+
+        KNNParallel(Point[] trainingSet, Point testPoint, int k, int start, int end, int threshold) {
+            this.trainingSet = trainingSet;
+            this.testPoint = testPoint;
+            this.k = k;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected NeighbourHeap compute() {
+            threshold = ForkThresholds.resolve(threshold, ForkThresholds.Kernel.KNN, end - start, 1);
+            if (end - start <= threshold) {
+                NeighbourHeap heap = new NeighbourHeap(k);
+                scan(trainingSet, testPoint, start, end, heap);
+                return heap;
+            } else {
+                int mid = (start + end) / 2;
+                KNNParallel left = new KNNParallel(trainingSet, testPoint, k, start, mid, threshold);
+                KNNParallel right = new KNNParallel(trainingSet, testPoint, k, mid, end, threshold);
+                left.fork();
+                NeighbourHeap rightResult = right.compute();
+                NeighbourHeap leftResult = left.join();
+                // Combine candidates from left and right
+                rightResult.merge(leftResult);
+                return rightResult;
+            }
+        }
+    }
+
+    // Classify many test points at once, see the columnar overload
+    static int[] classifyBatch(Point[] trainingSet, Point[] testPoints, int k, ForkJoinPool pool) {
+        double[][] queries = new double[testPoints.length][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = testPoints[i].coordinates();
+        }
+        return classifyBatch(TrainingSet.of(trainingSet), queries, k, pool);
+    }
+
+    // Classify many test points at once. Work is split over test points first and over training
+    // shards once a task is down to a single test point; every test point has one top-k heap that
+    // shard results are merged into, so each label matches classify() on the same point.
+    static int[] classifyBatch(TrainingSet trainingSet, double[][] testPoints, int k, ForkJoinPool pool) {
+        NeighbourHeap[] heaps = new NeighbourHeap[testPoints.length];
+        for (int i = 0; i < heaps.length; i++) {
+            trainingSet.checkQuery(testPoints[i]);
+            heaps[i] = new NeighbourHeap(k);
+        }
+        // A leaf is (test points x training points) distance evaluations
+        int threshold = ForkThresholds.threshold(ForkThresholds.Kernel.KNN,
+                (long) testPoints.length * trainingSet.size, trainingSet.dims / 2.0, pool.getParallelism());
+        pool.invoke(new BatchTask(trainingSet, testPoints, heaps, 0, 0, testPoints.length, 0, trainingSet.size, threshold));
+
+        int[] labels = new int[testPoints.length];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = trainingSet.vote(heaps[i]);
+        }
+        return labels;
+    }
+
+    // Test points [queryStart, queryEnd) against training points [start, end).
+    // The heap of test point q is heaps[q - heapBase].
+    static class BatchTask extends RecursiveAction {
+        private TrainingSet trainingSet;
+        private double[][] testPoints;
+        private NeighbourHeap[] heaps;
+        private int heapBase;
+        private int queryStart, queryEnd;
+        private int start, end;
+        private int threshold;
+
+        BatchTask(TrainingSet trainingSet, double[][] testPoints, NeighbourHeap[] heaps, int heapBase,
+                  int queryStart, int queryEnd, int start, int end, int threshold) {
+            this.trainingSet = trainingSet;
+            this.testPoints = testPoints;
+            this.heaps = heaps;
+            this.heapBase = heapBase;
+            this.queryStart = queryStart;
+            this.queryEnd = queryEnd;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int queries = queryEnd - queryStart;
+            if ((long) queries * (end - start) <= threshold) {
+                double[] scratch = new double[TrainingSet.BLOCK];
+                for (int q = queryStart; q < queryEnd; q++) {
+                    trainingSet.scan(testPoints[q], start, end, heaps[q - heapBase], scratch);
+                }
+            } else if (queries > 1) {
+                // Disjoint test points write disjoint heaps, nothing to merge
+                int mid = (queryStart + queryEnd) >>> 1;
+                invokeAll(new BatchTask(trainingSet, testPoints, heaps, heapBase, queryStart, mid, start, end, threshold),
+                        new BatchTask(trainingSet, testPoints, heaps, heapBase, mid, queryEnd, start, end, threshold));
+            } else {
+                // One test point, split the training set: the left shard fills a fresh heap
+                NeighbourHeap heap = heaps[queryStart - heapBase];
+                NeighbourHeap[] leftHeaps = {new NeighbourHeap(heap.k)};
+                int mid = (start + end) >>> 1;
+                BatchTask left = new BatchTask(trainingSet, testPoints, leftHeaps, queryStart, queryStart, queryEnd, start, mid, threshold);
+                BatchTask right = new BatchTask(trainingSet, testPoints, heaps, heapBase, queryStart, queryEnd, mid, end, threshold);
+                left.fork();
+                right.compute();
+                left.join();
+                heap.merge(leftHeaps[0]);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        Point[] trainingSet = new Point[1000]; // Example training set
+        Random random = new Random();
+        for (int i = 0; i < trainingSet.length; i++) {
+            trainingSet[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextInt(10));
+        }
+        Point testPoint = new Point(50, 50, 0); // Example test point
+
+        // Serial Classification
+        long startTime = System.currentTimeMillis();
+        int label = classify(trainingSet, testPoint, 5);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Predicted label (Serial): " + label);
+        System.out.println("Serial time: " + (endTime - startTime) + " ms");
+
+        // Parallel Classification
+        ForkJoinPool pool = new ForkJoinPool();
+        startTime = System.currentTimeMillis();
+        int parallelLabel = classifyParallel(trainingSet, testPoint, 5, pool);
+        endTime = System.currentTimeMillis();
+        System.out.println("Predicted label (Parallel): " + parallelLabel);
+        System.out.println("Parallel time: " + (endTime - startTime) + " ms");
+
+        // Batch Classification
+        Point[] testPoints = new Point[20000];
+        for (int i = 0; i < testPoints.length; i++) {
+            testPoints[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100, 0);
+        }
+        startTime = System.currentTimeMillis();
+        int[] batchLabels = classifyBatch(trainingSet, testPoints, 5, pool);
+        endTime = System.currentTimeMillis();
+        int mismatches = 0;
+        for (int i = 0; i < testPoints.length; i++) {
+            if (batchLabels[i] != classify(trainingSet, testPoints[i], 5)) {
+                mismatches++;
+            }
+        }
+        System.out.println("Batch labels differing from serial: " + mismatches + " of " + testPoints.length);
+        System.out.println("Batch time: " + (endTime - startTime) + " ms ("
+                + testPoints.length * 1000L / Math.max(1, endTime - startTime) + " queries/s)");
+
+        // Columnar training set with 16 features, batch classification over primitive columns
+        int dims = 16;
+        double[][] columns = new double[dims][200000];
+        int[] labels = new int[columns[0].length];
+        for (int i = 0; i < labels.length; i++) {
+            for (int d = 0; d < dims; d++) {
+                columns[d][i] = random.nextDouble();
+            }
+            labels[i] = random.nextInt(10);
+        }
+        TrainingSet wideSet = new TrainingSet(columns, labels);
+        double[][] wideQueries = new double[1000][dims];
+        for (double[] query : wideQueries) {
+            for (int d = 0; d < dims; d++) {
+                query[d] = random.nextDouble();
+            }
+        }
+        startTime = System.currentTimeMillis();
+        int[] wideLabels = classifyBatch(wideSet, wideQueries, 5, pool);
+        endTime = System.currentTimeMillis();
+        System.out.println("Predicted label (Columnar, " + dims + " dimensions, first query): " + wideLabels[0]);
+        System.out.println("Columnar batch time (" + wideQueries.length + " queries x " + wideSet.size() + " points): "
+                + (endTime - startTime) + " ms");
+
+        // KD-tree: built once, then each query only visits the cells near the test point
+        Point[] largeSet = new Point[2000000];
+        for (int i = 0; i < largeSet.length; i++) {
+            largeSet[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextInt(10));
+        }
+        startTime = System.currentTimeMillis();
+        KDTree tree = new KDTree(largeSet, pool);
+        endTime = System.currentTimeMillis();
+        System.out.println("KD-tree build time (" + largeSet.length + " points): " + (endTime - startTime) + " ms");
+
+        startTime = System.currentTimeMillis();
+        int treeLabel = 0;
+        for (int i = 0; i < 10000; i++) {
+            treeLabel = tree.classify(new Point(random.nextDouble() * 100, random.nextDouble() * 100, 0), 5);
+        }
+        endTime = System.currentTimeMillis();
+        System.out.println("Predicted label (KD-tree, last of 10000 queries): " + treeLabel);
+        System.out.println("KD-tree query time (10000 queries): " + (endTime - startTime) + " ms");
+        System.out.println("Predicted label (KD-tree, example point): " + tree.classify(testPoint, 5)
+                + ", brute force: " + classify(largeSet, testPoint, 5));
+        pool.shutdown();
+    }
+}
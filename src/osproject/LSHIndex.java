@@ -0,0 +1,179 @@
+package osproject;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Locality-sensitive hashing for Euclidean distance (p-stable projections): each of `tables` hash
+// tables hashes a point by hashesPerTable random Gaussian projections, each cut into buckets of
+// width bucketWidth, so nearby points usually share a bucket in at least one table. A query ranks
+// the union of its buckets over all tables. More tables raise recall and cost, more hashes per
+// table make buckets smaller and more selective.
+class LSHIndex extends ApproximateIndex {
+    static final int TABLES = 8;
+    static final int HASHES_PER_TABLE = 8;
+    static final double WIDTH_FACTOR = 4;  // Bucket width in typical nearest-neighbour distances
+    static final int WIDTH_SAMPLE = 1024;
+
+    final int dims;
+    final int tables, hashesPerTable;
+    final double bucketWidth;
+    final double[][] projections; // [table * hashesPerTable + h][d]
+    final double[] offsets;       // uniform in [0, bucketWidth)
+    final long[][] buckets;       // per table, (hash << 32 | training index) sorted
+
+    LSHIndex(TrainingSet trainingSet, int tables, int hashesPerTable, double bucketWidth, long seed, ForkJoinPool pool) {
+        super(trainingSet);
+        if (tables < 1 || hashesPerTable < 1 || !(bucketWidth > 0)) {
+            throw new IllegalArgumentException("tables and hashesPerTable must be positive, bucketWidth above zero");
+        }
+        this.dims = trainingSet.dims;
+        this.tables = tables;
+        this.hashesPerTable = hashesPerTable;
+        this.bucketWidth = bucketWidth;
+
+        Random random = new Random(seed);
+        projections = new double[tables * hashesPerTable][dims];
+        offsets = new double[tables * hashesPerTable];
+        for (int h = 0; h < projections.length; h++) {
+            for (int d = 0; d < dims; d++) {
+                projections[h][d] = random.nextGaussian();
+            }
+            offsets[h] = random.nextDouble() * bucketWidth;
+        }
+
+        buckets = new long[tables][];
+        if (pool == null) {
+            for (int t = 0; t < tables; t++) {
+                buildTable(t);
+            }
+        } else {
+            pool.invoke(new BuildTask(this, 0, tables));
+        }
+    }
+
+    // Hash every training point for table t, projections streamed column by column
+    void buildTable(int t) {
+        int size = trainingSet.size;
+        int[] hashes = new int[size];
+        Arrays.fill(hashes, 1);
+        double[] projected = new double[size];
+        for (int h = t * hashesPerTable; h < (t + 1) * hashesPerTable; h++) {
+            Arrays.fill(projected, offsets[h]);
+            for (int d = 0; d < dims; d++) {
+                double a = projections[h][d];
+                double[] column = trainingSet.columns[d];
+                for (int i = 0; i < size; i++) {
+                    projected[i] += a * column[i];
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                hashes[i] = 31 * hashes[i] + (int) Math.floor(projected[i] / bucketWidth);
+            }
+        }
+        long[] table = new long[size];
+        for (int i = 0; i < size; i++) {
+            table[i] = (long) hashes[i] << 32 | i;
+        }
+        Arrays.sort(table);
+        buckets[t] = table;
+    }
+
+    // Tables are independent, build them on separate workers
+    static class BuildTask extends RecursiveAction {
+        private LSHIndex index;
+        private int start, end;
+
+        BuildTask(LSHIndex index, int start, int end) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                index.buildTable(start);
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new BuildTask(index, start, mid), new BuildTask(index, mid, end));
+            }
+        }
+    }
+
+    int hash(double[] query, int t) {
+        int hash = 1;
+        for (int h = t * hashesPerTable; h < (t + 1) * hashesPerTable; h++) {
+            double projected = offsets[h];
+            for (int d = 0; d < dims; d++) {
+                projected += projections[h][d] * query[d];
+            }
+            hash = 31 * hash + (int) Math.floor(projected / bucketWidth);
+        }
+        return hash;
+    }
+
+    @Override
+    void search(double[] query, NeighbourHeap heap) {
+        int[] candidates = new int[64];
+        int count = 0;
+        for (int t = 0; t < tables; t++) {
+            long[] table = buckets[t];
+            int hash = hash(query, t);
+            // First entry of the bucket: ids are non-negative, so (hash << 32) sorts right before it
+            int i = Arrays.binarySearch(table, (long) hash << 32);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            for (; i < table.length && (int) (table[i] >> 32) == hash; i++) {
+                if (count == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, count * 2);
+                }
+                candidates[count++] = (int) table[i];
+            }
+        }
+        // A point colliding in several tables is ranked once
+        Arrays.sort(candidates, 0, count);
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || candidates[i] != candidates[i - 1]) {
+                heap.offer(trainingSet.distanceSquared(query, candidates[i]), candidates[i]);
+            }
+        }
+    }
+
+    // WIDTH_FACTOR times the mean nearest-neighbour distance, estimated on a random sample and
+    // scaled to the full set (nearest-neighbour distances shrink like n^(-1/dims))
+    static double estimateBucketWidth(TrainingSet trainingSet, Random random) {
+        int size = trainingSet.size;
+        int samples = Math.min(size, WIDTH_SAMPLE);
+        if (samples < 2) {
+            return 1;
+        }
+        int[] sample = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            sample[i] = samples == size ? i : random.nextInt(size);
+        }
+        double[] point = new double[trainingSet.dims];
+        double total = 0;
+        int counted = 0;
+        for (int i = 0; i < samples; i++) {
+            for (int d = 0; d < point.length; d++) {
+                point[d] = trainingSet.columns[d][sample[i]];
+            }
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < samples; j++) {
+                if (sample[j] != sample[i]) {
+                    nearest = Math.min(nearest, trainingSet.distanceSquared(point, sample[j]));
+                }
+            }
+            if (nearest < Double.POSITIVE_INFINITY) {
+                total += Math.sqrt(nearest);
+                counted++;
+            }
+        }
+        double sampleDistance = counted == 0 ? 0 : total / counted;
+        double width = WIDTH_FACTOR * sampleDistance * Math.pow((double) samples / size, 1.0 / trainingSet.dims);
+        return width > 0 ? width : 1;
+    }
+}
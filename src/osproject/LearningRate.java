@@ -0,0 +1,22 @@
+package osproject;
+
+// Learning-rate schedule for StochasticTrainer: the rate of the step-th mini-batch update,
+// steps counted from 0 over the whole run
+@FunctionalInterface
+public interface LearningRate {
+    double at(long step);
+
+    static LearningRate constant(double rate) {
+        return step -> rate;
+    }
+
+    // initial / (1 + decay * step), the classic Robbins-Monro style decay
+    static LearningRate inverseTime(double initial, double decay) {
+        return step -> initial / (1 + decay * step);
+    }
+
+    // initial * factor^(step / every), e.g. halve the rate every 1000 batches
+    static LearningRate stepDecay(double initial, double factor, long every) {
+        return step -> initial * Math.pow(factor, step / every);
+    }
+}
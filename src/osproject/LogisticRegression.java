@@ -0,0 +1,472 @@
+package osproject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+public class LogisticRegression {
+    // Model snapshot: little-endian int magic "OSLM", int version, int features, int CRC-32 of the
+    // weight bytes, then the weights as doubles
+    static final int SNAPSHOT_MAGIC = 0x4F534C4D;
+    static final int SNAPSHOT_VERSION = 1;
+    static final int SNAPSHOT_HEADER_BYTES = 16;
+
+    // fastSigmoid: linear interpolation in a table over [-16, 16], 128 steps per unit. Interpolation
+    // error is at most step^2 / 8 * max|sigmoid''| < 7.4e-7 and the clamped tails are off by at most
+    // sigmoid(-16) < 1.2e-7, so the absolute error stays below 1e-6.
+    static final double FAST_SIGMOID_RANGE = 16;
+    static final int FAST_SIGMOID_STEPS = 128;
+    private static final double[] SIGMOID_TABLE = sigmoidTable();
+
+    private double[] weights; // Logistic regression parameters
+
+    // Constructor to initialize weights
+    public LogisticRegression(int n) {
+        weights = new double[n]; // Initialize weights for 'n' features
+    }
+
+    // The live weight vector, updated in place by the trainers
+    double[] weights() {
+        return weights;
+    }
+
+    // Sigmoid function to return the probability estimation
+    static double sigmoid(double z) {
+        return 1.0 / (1.0 + Math.exp(-z));
+    }
+
+    private static double[] sigmoidTable() {
+        double[] table = new double[(int) (2 * FAST_SIGMOID_RANGE * FAST_SIGMOID_STEPS) + 1];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = sigmoid((double) i / FAST_SIGMOID_STEPS - FAST_SIGMOID_RANGE);
+        }
+        return table;
+    }
+
+    // Sigmoid within 1e-6 without calling Math.exp
+    static double fastSigmoid(double z) {
+        if (z <= -FAST_SIGMOID_RANGE) {
+            return SIGMOID_TABLE[0];
+        }
+        if (z >= FAST_SIGMOID_RANGE) {
+            return SIGMOID_TABLE[SIGMOID_TABLE.length - 1];
+        }
+        double x = (z + FAST_SIGMOID_RANGE) * FAST_SIGMOID_STEPS;
+        int i = (int) x;
+        if (i >= SIGMOID_TABLE.length - 1) {
+            return SIGMOID_TABLE[SIGMOID_TABLE.length - 1];
+        }
+        return SIGMOID_TABLE[i] + (x - i) * (SIGMOID_TABLE[i + 1] - SIGMOID_TABLE[i]);
+    }
+
+    // Predict the probability that the output is 1
+    public double predict(double[] x) {
+        double linearCombination = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            linearCombination += weights[i] * x[i];
+        }
+        return sigmoid(linearCombination);
+    }
+
+    // Predict the probability that row `row` of X is 1
+    public double predict(FeatureMatrix X, int row) {
+        return sigmoid(X.dot(row, weights));
+    }
+
+    // Update weights using gradient descent (Serial)
+    public void updateWeights(double[][] X, double[] y, double lr) {
+        double[] gradient = new double[weights.length];
+        for (int i = 0; i < X.length; i++) { // for each data point
+            double prediction = predict(X[i]);
+            for (int j = 0; j < weights.length; j++) { // for each feature
+                gradient[j] += (y[i] - prediction) * X[i][j];
+            }
+        }
+
+        // Update weights
+        for (int j = 0; j < weights.length; j++) {
+            weights[j] += lr * gradient[j] / X.length; // learning rate and average
+        }
+    }
+
+    // Leaf loop timed by ForkThresholds for Kernel.LOGISTIC_GRADIENT
+    static ForkThresholds.Workload probe(Random random) {
+        int rows = 1024, features = 16;
+        double[][] X = new double[rows][features];
+        double[] y = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < features; j++) {
+                X[i][j] = random.nextGaussian();
+            }
+            y[i] = random.nextInt(2);
+        }
+        LogisticRegression model = new LogisticRegression(features);
+        return new ForkThresholds.Workload(() -> model.updateWeights(X, y, 0.01), (long) rows * features);
+    }
+
+    // Update weights using gradient descent (Serial), dense or sparse features
+    public void updateWeights(FeatureMatrix X, double[] y, double lr) {
+        checkShape(X, y, weights.length);
+        double[] gradient = new double[weights.length];
+        X.addGradient(weights, y, 0, X.rows(), gradient);
+        for (int j = 0; j < weights.length; j++) {
+            weights[j] += lr * gradient[j] / X.rows(); // learning rate and average
+        }
+    }
+
+    // Train model using serial method
+    public void train(double[][] X, double[] y, double lr, int epochs) {
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            updateWeights(X, y, lr);
+        }
+    }
+
+    public void train(FeatureMatrix X, double[] y, double lr, int epochs) {
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            updateWeights(X, y, lr);
+        }
+    }
+
+    // Parallel task for the full-batch gradient. Rows are cut into gradients.length leaves, leaf l
+    // covering rows [l * rows / leaves, (l + 1) * rows / leaves) and summing into its own buffer
+    // gradients[l]; a node adds its right half's buffer into its left half's, so the result ends up
+    // in gradients[firstLeaf]. No two tasks ever write the same buffer at the same time, and the
+    // summation order depends only on the number of leaves, not on thread timing, so results are
+    // reproducible. The buffers can be reused from one epoch to the next.
+    static class WeightUpdateTask extends RecursiveAction {
+        private FeatureMatrix X;
+        private double[] y;
+        private double[] weights;
+        private double[][] gradients;
+        private int firstLeaf, endLeaf;
+
+        public WeightUpdateTask(double[][] X, double[] y, double[] weights, double[][] gradients) {
+            this(FeatureMatrix.wrap(X), y, weights, gradients, 0, gradients.length);
+        }
+
+        public WeightUpdateTask(FeatureMatrix X, double[] y, double[] weights, double[][] gradients) {
+            this(X, y, weights, gradients, 0, gradients.length);
+        }
+
+        WeightUpdateTask(FeatureMatrix X, double[] y, double[] weights, double[][] gradients, int firstLeaf, int endLeaf) {
+            this.X = X;
+            this.y = y;
+            this.weights = weights;
+            this.gradients = gradients;
+            this.firstLeaf = firstLeaf;
+            this.endLeaf = endLeaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (endLeaf - firstLeaf == 1) {
+                double[] gradient = gradients[firstLeaf];
+                Arrays.fill(gradient, 0);
+                int start = (int) ((long) firstLeaf * X.rows() / gradients.length);
+                int end = (int) ((long) endLeaf * X.rows() / gradients.length);
+                X.addGradient(weights, y, start, end, gradient);
+            } else {
+                int mid = (firstLeaf + endLeaf) >>> 1;
+                invokeAll(new WeightUpdateTask(X, y, weights, gradients, firstLeaf, mid),
+                        new WeightUpdateTask(X, y, weights, gradients, mid, endLeaf));
+                // Combine gradients from left and right tasks
+                double[] left = gradients[firstLeaf], right = gradients[mid];
+                for (int j = 0; j < left.length; j++) {
+                    left[j] += right[j];
+                }
+            }
+        }
+    }
+
+    // One gradient buffer per leaf of at most `threshold` rows
+    static double[][] gradientBuffers(int rows, int features, int threshold) {
+        int leaves = (int) Math.max(1, ((long) rows + threshold - 1) / threshold);
+        return new double[leaves][features];
+    }
+
+    // Train the model using parallel computation on the common pool
+    public void trainParallel(double[][] X, double[] y, double lr, int epochs) {
+        trainParallel(X, y, lr, epochs, ForkJoinPool.commonPool());
+    }
+
+    // Train the model using parallel computation on a caller-owned, long-lived pool. Gives the same
+    // weights as train() up to floating-point rounding of the gradient sums.
+    public void trainParallel(double[][] X, double[] y, double lr, int epochs, ForkJoinPool pool) {
+        trainParallel(FeatureMatrix.wrap(X), y, lr, epochs, pool);
+    }
+
+    // Dense or sparse features; a sparse row costs its non-zeros, not its width
+    public void trainParallel(FeatureMatrix X, double[] y, double lr, int epochs, ForkJoinPool pool) {
+        checkShape(X, y, weights.length);
+        int rows = X.rows();
+        double valuesPerRow = rows == 0 ? 1 : Math.max(1.0, (double) X.storedValues() / rows);
+        int threshold = ForkThresholds.threshold(ForkThresholds.Kernel.LOGISTIC_GRADIENT, rows, valuesPerRow, pool.getParallelism());
+        double[][] gradients = gradientBuffers(rows, weights.length, threshold);
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            pool.invoke(new WeightUpdateTask(X, y, weights, gradients));
+            double[] gradient = gradients[0];
+            for (int j = 0; j < weights.length; j++) {
+                weights[j] += lr * gradient[j] / rows; // Apply the average gradient
+            }
+        }
+    }
+
+    // Training data must have one label per row and one column per weight
+    static void checkShape(FeatureMatrix X, double[] y, int weights) {
+        if (y.length != X.rows()) {
+            throw new IllegalArgumentException("Labels have " + y.length + " entries for " + X.rows() + " rows");
+        }
+        if (X.columns() != weights) {
+            throw new IllegalArgumentException("Matrix has " + X.columns() + " columns, the model " + weights + " weights");
+        }
+    }
+
+    // Probability of every row of X into out, which must have X.rows() entries and can be reused
+    // from one batch to the next. Rows are scored in parallel on the pool; fast selects fastSigmoid.
+    public double[] predictBatch(FeatureMatrix X, double[] out, boolean fast, ForkJoinPool pool) {
+        if (out.length != X.rows()) {
+            throw new IllegalArgumentException("Output has " + out.length + " entries for " + X.rows() + " rows");
+        }
+        if (X.columns() != weights.length) {
+            throw new IllegalArgumentException("Matrix has " + X.columns() + " columns, the model " + weights.length + " weights");
+        }
+        int rows = X.rows();
+        // Scoring a row is about half the work of its gradient
+        double valuesPerRow = rows == 0 ? 1 : Math.max(1.0, X.storedValues() / 2.0 / rows);
+        int threshold = ForkThresholds.threshold(ForkThresholds.Kernel.LOGISTIC_GRADIENT, rows, valuesPerRow, pool.getParallelism());
+        pool.invoke(new PredictTask(X, weights, out, 0, rows, fast, threshold));
+        return out;
+    }
+
+    public double[] predictBatch(double[][] X, double[] out, boolean fast, ForkJoinPool pool) {
+        return predictBatch(FeatureMatrix.wrap(X), out, fast, pool);
+    }
+
+    // Parallel task scoring rows [start, end) into out; leaves write disjoint ranges
+    static class PredictTask extends RecursiveAction {
+        private FeatureMatrix X;
+        private double[] weights;
+        private double[] out;
+        private int start, end;
+        private boolean fast;
+        private int threshold;
+
+        PredictTask(FeatureMatrix X, double[] weights, double[] out, int start, int end, boolean fast, int threshold) {
+            this.X = X;
+            this.weights = weights;
+            this.out = out;
+            this.start = start;
+            this.end = end;
+            this.fast = fast;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                X.predict(weights, start, end, out, fast);
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new PredictTask(X, weights, out, start, mid, fast, threshold),
+                        new PredictTask(X, weights, out, mid, end, fast, threshold));
+            }
+        }
+    }
+
+    // Write the weights as a versioned snapshot
+    public void save(Path file) throws IOException {
+        ByteBuffer snapshot = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES + 8 * weights.length).order(ByteOrder.LITTLE_ENDIAN);
+        snapshot.position(SNAPSHOT_HEADER_BYTES);
+        snapshot.asDoubleBuffer().put(weights);
+        CRC32 crc = new CRC32();
+        crc.update(snapshot.array(), SNAPSHOT_HEADER_BYTES, 8 * weights.length);
+        snapshot.putInt(0, SNAPSHOT_MAGIC).putInt(4, SNAPSHOT_VERSION).putInt(8, weights.length).putInt(12, (int) crc.getValue());
+        Files.write(file, snapshot.array());
+    }
+
+    // Load a snapshot with one mapping and one bulk copy of the weights
+    public static LogisticRegression load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < SNAPSHOT_HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + ": not a model snapshot");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return fromSnapshot(mapped, file.toString());
+        }
+    }
+
+    static LogisticRegression fromSnapshot(ByteBuffer snapshot, String source) throws IOException {
+        snapshot.order(ByteOrder.LITTLE_ENDIAN);
+        if (snapshot.getInt(0) != SNAPSHOT_MAGIC) {
+            throw new IOException(source + ": not a model snapshot");
+        }
+        int version = snapshot.getInt(4);
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException(source + ": unsupported snapshot version " + version);
+        }
+        int features = snapshot.getInt(8);
+        if (features < 0 || snapshot.limit() != SNAPSHOT_HEADER_BYTES + 8L * features) {
+            throw new IOException(source + ": size does not match " + features + " weights");
+        }
+        ByteBuffer body = snapshot.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        body.position(SNAPSHOT_HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != snapshot.getInt(12)) {
+            throw new IOException(source + ": checksum mismatch");
+        }
+        LogisticRegression model = new LogisticRegression(features);
+        body.asDoubleBuffer().get(model.weights);
+        return model;
+    }
+
+    public static void main(String[] args) {
+        double[][] X = {
+                {0.5, 1.5}, {1.5, 1.5}, {0.5, -0.5}, {-1.5, 1.5}, {-0.5, -1.5}, {1.5, -1.5},
+                {1.1, 2.5}, {2.5, 2.1}, {1.5, -0.1}, {-1.2, 2.1}, {-1.5, -2.5}, {2.5, -1.0}
+        }; //  data points
+        double[] y = {0, 0, 1, 0, 1, 1, 0, 0, 1, 0, 1, 1}; // labels
+
+        LogisticRegression model = new LogisticRegression(2); // Initialize logistic regression model with 2 features
+
+        // Serial Training
+        System.out.println("Training serially...");
+        long startTimeSerial = System.currentTimeMillis();
+        model.train(X, y, 0.01, 1000); // Train with learning rate 0.01 and 1000 epochs serially
+        long endTimeSerial = System.currentTimeMillis();
+        System.out.println("Serial training completed in " + (endTimeSerial - startTimeSerial) + " ms");
+
+        // Parallel Training
+        System.out.println("Training in parallel...");
+        long startTimeParallel = System.currentTimeMillis();
+        model.trainParallel(X, y, 0.01, 1000); // Train with learning rate 0.01 and 1000 epochs in parallel
+        long endTimeParallel = System.currentTimeMillis();
+        System.out.println("Parallel training completed in " + (endTimeParallel - startTimeParallel) + " ms");
+
+        // Example prediction
+        double[] newPoint = {1.0, -1.0};
+        double prediction = model.predict(newPoint);
+        System.out.println("Predicted probability for new data point " + Arrays.toString(newPoint) + " is: " + prediction);
+
+        // Larger synthetic set: serial and parallel training from the same start must agree
+        int rows = 1000000, features = 16;
+        double[][] largeX = new double[rows][features];
+        double[] largeY = new double[rows];
+        syntheticData(largeX, largeY, new Random(42));
+        LogisticRegression serialModel = new LogisticRegression(features);
+        LogisticRegression parallelModel = new LogisticRegression(features);
+        ForkJoinPool pool = new ForkJoinPool();
+
+        startTimeSerial = System.currentTimeMillis();
+        serialModel.train(largeX, largeY, 0.5, 10);
+        endTimeSerial = System.currentTimeMillis();
+        System.out.println("Serial training (" + rows + " rows, 10 epochs) completed in " + (endTimeSerial - startTimeSerial) + " ms");
+
+        startTimeParallel = System.currentTimeMillis();
+        parallelModel.trainParallel(largeX, largeY, 0.5, 10, pool);
+        endTimeParallel = System.currentTimeMillis();
+        System.out.println("Parallel training (" + rows + " rows, 10 epochs) completed in " + (endTimeParallel - startTimeParallel) + " ms");
+
+        double difference = 0;
+        for (int j = 0; j < features; j++) {
+            difference = Math.max(difference, Math.abs(serialModel.weights[j] - parallelModel.weights[j]));
+        }
+        System.out.println("Largest serial/parallel weight difference: " + difference);
+
+        // The same rows as one flat array: no per-row arrays to chase
+        DenseFeatureMatrix dense = DenseFeatureMatrix.of(largeX);
+        LogisticRegression denseModel = new LogisticRegression(features);
+        startTimeParallel = System.currentTimeMillis();
+        denseModel.trainParallel(dense, largeY, 0.5, 10, pool);
+        endTimeParallel = System.currentTimeMillis();
+        System.out.println("Parallel training, flat dense matrix, completed in " + (endTimeParallel - startTimeParallel) + " ms");
+
+        // Sparse features: 100000 columns, 20 non-zeros per row. Dense, this would be 800 GB.
+        int sparseRows = 1000000, sparseColumns = 100000;
+        Random random = new Random(7);
+        CsrFeatureMatrix sparse = CsrFeatureMatrix.random(sparseRows, sparseColumns, 20, random);
+        double[] truth = new double[sparseColumns];
+        for (int j = 0; j < sparseColumns; j++) {
+            truth[j] = random.nextGaussian();
+        }
+        double[] sparseY = new double[sparseRows];
+        for (int i = 0; i < sparseRows; i++) {
+            sparseY[i] = random.nextDouble() < sigmoid(sparse.dot(i, truth)) ? 1 : 0;
+        }
+        LogisticRegression sparseModel = new LogisticRegression(sparseColumns);
+        startTimeParallel = System.currentTimeMillis();
+        sparseModel.trainParallel(sparse, sparseY, 0.5, 10, pool);
+        endTimeParallel = System.currentTimeMillis();
+        System.out.println("Parallel training, CSR " + sparseRows + " x " + sparseColumns + " (" + sparse.storedValues()
+                + " non-zeros, " + sparse.memoryBytes() / (1 << 20) + " MB vs " + 8L * sparseRows * sparseColumns / (1 << 20)
+                + " MB dense), 10 epochs, completed in " + (endTimeParallel - startTimeParallel) + " ms");
+
+        // Batch scoring into one reused buffer, exact and table sigmoid
+        double[] scores = new double[rows];
+        double[] fastScores = new double[rows];
+        for (int run = 0; run < 3; run++) {
+            long startTime = System.currentTimeMillis();
+            denseModel.predictBatch(dense, scores, false, pool);
+            long endTime = System.currentTimeMillis();
+            System.out.println("predictBatch (" + rows + " rows, exact sigmoid) time: " + (endTime - startTime) + " ms");
+            startTime = System.currentTimeMillis();
+            denseModel.predictBatch(dense, fastScores, true, pool);
+            endTime = System.currentTimeMillis();
+            System.out.println("predictBatch (" + rows + " rows, fast sigmoid) time: " + (endTime - startTime) + " ms");
+        }
+        double scoreError = 0;
+        for (int i = 0; i < rows; i++) {
+            scoreError = Math.max(scoreError, Math.abs(scores[i] - fastScores[i]));
+        }
+        double sigmoidError = 0;
+        for (double z = -40; z <= 40; z += 1e-4) {
+            sigmoidError = Math.max(sigmoidError, Math.abs(sigmoid(z) - fastSigmoid(z)));
+        }
+        System.out.println("Largest fast sigmoid error: " + sigmoidError + " over [-40, 40], " + scoreError + " on the scores");
+
+        // Snapshot round trip of the sparse model, the largest one here
+        try {
+            Path snapshot = Files.createTempFile("logistic-regression", ".model");
+            snapshot.toFile().deleteOnExit();
+            long startTime = System.currentTimeMillis();
+            sparseModel.save(snapshot);
+            long endTime = System.currentTimeMillis();
+            System.out.println("Snapshot save (" + Files.size(snapshot) / 1024 + " KB) time: " + (endTime - startTime) + " ms");
+            startTime = System.currentTimeMillis();
+            LogisticRegression loaded = load(snapshot);
+            endTime = System.currentTimeMillis();
+            System.out.println("Snapshot load time: " + (endTime - startTime) + " ms, weights identical: "
+                    + Arrays.equals(loaded.weights, sparseModel.weights));
+        } catch (IOException e) {
+            System.out.println("Snapshot round trip failed: " + e);
+        }
+        pool.shutdown();
+    }
+
+    // Rows of standard normal features labelled by a fixed random linear model, with label noise
+    static void syntheticData(double[][] X, double[] y, Random random) {
+        int features = X.length == 0 ? 0 : X[0].length;
+        double[] truth = new double[features];
+        for (int j = 0; j < features; j++) {
+            truth[j] = random.nextGaussian();
+        }
+        for (int i = 0; i < X.length; i++) {
+            double z = 0;
+            for (int j = 0; j < features; j++) {
+                X[i][j] = random.nextGaussian();
+                z += truth[j] * X[i][j];
+            }
+            y[i] = random.nextDouble() < 1.0 / (1.0 + Math.exp(-z)) ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package osproject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Out-of-core C = A * B over MatrixFiles: only tile-sized blocks are ever on the heap. C is cut into
+// tile x tile blocks, each owned by one leaf task, which walks the k dimension copying an A block
+// and a B block out of the mappings and running Gemm on them into its C block, then writes the
+// C block back once. Leaves write disjoint blocks of C and run in parallel on the pool.
+// Every tile x tile x tile step reads 2 tile^2 doubles for tile^3 multiply-adds, so with the
+// operands in page cache the copies cost little next to the kernel.
+public class MappedMatrixMultiplier {
+    static final int TILE = 512;     // Three 2 MB blocks per worker
+    static final int MIN_TILE = 128;
+
+    private final ForkJoinPool pool;
+    private final int tile;
+
+    public MappedMatrixMultiplier(ForkJoinPool pool) {
+        this(pool, TILE);
+    }
+
+    MappedMatrixMultiplier(ForkJoinPool pool, int tile) {
+        if (tile < Gemm.MR) {
+            throw new IllegalArgumentException("Tile too small: " + tile);
+        }
+        this.pool = pool;
+        this.tile = tile;
+    }
+
+    // Multiply the matrices in files a and b into a new file c
+    public void multiply(Path a, Path b, Path c) throws IOException {
+        try (MatrixFile left = MatrixFile.open(a, false); MatrixFile right = MatrixFile.open(b, false)) {
+            if (left.columns != right.rows) {
+                throw new IllegalArgumentException("Cannot multiply " + left.rows + " x " + left.columns + " by "
+                        + right.rows + " x " + right.columns);
+            }
+            try (MatrixFile result = MatrixFile.create(c, left.rows, right.columns)) {
+                int side = tileFor(left.rows, right.columns);
+                int tileRows = (left.rows + side - 1) / side, tileColumns = (right.columns + side - 1) / side;
+                pool.invoke(new TileTask(left, right, result, side, tileColumns, 0, tileRows * tileColumns));
+            }
+        }
+    }
+
+    // Smaller tiles on small products, so every worker gets a couple of C blocks
+    private int tileFor(int m, int n) {
+        int side = tile;
+        while (side / 2 >= MIN_TILE
+                && (long) ((m + side - 1) / side) * ((n + side - 1) / side) < 2L * pool.getParallelism()) {
+            side /= 2;
+        }
+        return side;
+    }
+
+    // C blocks [start, end) in row-major block order
+    static class TileTask extends RecursiveAction {
+        private MatrixFile a, b, c;
+        private int tile, tileColumns;
+        private int start, end;
+
+        TileTask(MatrixFile a, MatrixFile b, MatrixFile c, int tile, int tileColumns, int start, int end) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.tile = tile;
+            this.tileColumns = tileColumns;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                if (end > start) {
+                    multiplyBlock(start / tileColumns * tile, start % tileColumns * tile);
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new TileTask(a, b, c, tile, tileColumns, start, mid),
+                        new TileTask(a, b, c, tile, tileColumns, mid, end));
+            }
+        }
+
+        private void multiplyBlock(int row, int column) {
+            int height = Math.min(tile, c.rows - row), width = Math.min(tile, c.columns - column);
+            double[] aBlock = new double[tile * tile];
+            double[] bBlock = new double[tile * tile];
+            double[] cBlock = new double[height * width];
+            double[] panel = Gemm.panel(tile, width);
+            for (int p = 0; p < a.columns; p += tile) {
+                int depth = Math.min(tile, a.columns - p);
+                a.readBlock(row, p, height, depth, aBlock, 0, depth);
+                b.readBlock(p, column, depth, width, bBlock, 0, width);
+                Gemm.multiplyAdd(height, width, depth, aBlock, 0, depth, bBlock, 0, width, cBlock, 0, width, panel);
+            }
+            c.writeBlock(row, column, height, width, cBlock, 0, width);
+        }
+    }
+
+    // Usage: MappedMatrixMultiplier [size]; multiplies two random size x size files
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        Path a = Files.createTempFile("matrix-a", ".bin");
+        Path b = Files.createTempFile("matrix-b", ".bin");
+        Path c = Files.createTempFile("matrix-c", ".bin");
+        a.toFile().deleteOnExit();
+        b.toFile().deleteOnExit();
+        c.toFile().deleteOnExit();
+
+        long startTime = System.currentTimeMillis();
+        MatrixFile.writeRandom(a, size, size, 1);
+        MatrixFile.writeRandom(b, size, size, 2);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Wrote two " + size + " x " + size + " matrices (" + 2 * (Files.size(a) >> 20) + " MB) in "
+                + (endTime - startTime) + " ms");
+
+        ForkJoinPool pool = new ForkJoinPool();
+        double flops = 2.0 * size * size * size;
+        startTime = System.currentTimeMillis();
+        new MappedMatrixMultiplier(pool).multiply(a, b, c);
+        endTime = System.currentTimeMillis();
+        System.out.println("Mapped tiled multiply time: " + (endTime - startTime) + " ms ("
+                + MatrixMultiplier.gflops(flops, endTime - startTime) + " GFLOP/s)");
+
+        // The same product on the heap, when it fits, as the speed and correctness reference
+        if (8.0 * size * size * 3 < Runtime.getRuntime().maxMemory() / 2) {
+            DenseMatrix left, right, mapped;
+            try (MatrixFile fa = MatrixFile.open(a, false); MatrixFile fb = MatrixFile.open(b, false);
+                 MatrixFile fc = MatrixFile.open(c, false)) {
+                left = fa.read();
+                right = fb.read();
+                mapped = fc.read();
+            }
+            startTime = System.currentTimeMillis();
+            DenseMatrix inMemory = MatrixMultiplier.parallelMultiply(left, right, pool);
+            endTime = System.currentTimeMillis();
+            System.out.println("In-memory multiply time: " + (endTime - startTime) + " ms ("
+                    + MatrixMultiplier.gflops(flops, endTime - startTime) + " GFLOP/s)");
+            double difference = 0;
+            for (int i = 0; i < inMemory.values.length; i++) {
+                difference = Math.max(difference, Math.abs(inMemory.values[i] - mapped.values[i]));
+            }
+            System.out.println("Largest difference from the in-memory product: " + difference);
+        }
+        pool.shutdown();
+    }
+}
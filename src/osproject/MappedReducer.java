@@ -0,0 +1,243 @@
+package osproject;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Out-of-core mode of ParallelReducer: maps a raw binary file of ints or longs chunk by chunk with
+// FileChannel.map and reduces the mapped buffers in place, so the file never has to fit in the heap.
+public class MappedReducer {
+    static final long CHUNK_BYTES = 1L << 30; // One mapping per GiB, well below the 2 GiB buffer limit
+
+    private final ParallelReducer reducer;
+    private final long chunkBytes;
+
+    public MappedReducer(ParallelReducer reducer) {
+        this(reducer, CHUNK_BYTES);
+    }
+
+    MappedReducer(ParallelReducer reducer, long chunkBytes) {
+        if (chunkBytes <= 0 || chunkBytes % Long.BYTES != 0 || chunkBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("chunkBytes must be a positive multiple of 8 below 2 GiB: " + chunkBytes);
+        }
+        this.reducer = reducer;
+        this.chunkBytes = chunkBytes;
+    }
+
+    // Reduce a file of 4-byte ints stored in the given byte order
+    public Aggregates reduceInts(Path file, ByteOrder order) throws IOException {
+        return reduceFile(file, order, Integer.BYTES);
+    }
+
+    // Reduce a file of 8-byte longs stored in the given byte order
+    public Aggregates reduceLongs(Path file, ByteOrder order) throws IOException {
+        return reduceFile(file, order, Long.BYTES);
+    }
+
+    private Aggregates reduceFile(Path file, ByteOrder order, int elementBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % elementBytes != 0) {
+                throw new IOException(file + ": size " + size + " is not a multiple of " + elementBytes + " bytes");
+            }
+
+            // Map every chunk up front (mapping only reserves address space), then reduce them all
+            // in one pool so the chunks are processed in parallel with each other as well
+            int threshold = reducer.thresholdFor(size / elementBytes);
+            List<BufferReduceTask> tasks = new ArrayList<>();
+            for (long offset = 0; offset < size; offset += chunkBytes) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(chunkBytes, size - offset));
+                mapped.order(order);
+                IntBuffer ints = elementBytes == Integer.BYTES ? mapped.asIntBuffer() : null;
+                LongBuffer longs = elementBytes == Long.BYTES ? mapped.asLongBuffer() : null;
+                int length = ints != null ? ints.limit() : longs.limit();
+                tasks.add(new BufferReduceTask(ints, longs, offset / elementBytes, 0, length, threshold, reducer.newAggregates(false)));
+            }
+            for (BufferReduceTask task : tasks) {
+                reducer.pool.execute(task);
+            }
+
+            Aggregates result = reducer.newAggregates(false);
+            for (BufferReduceTask task : tasks) {
+                task.join();
+                result.merge(task.acc);
+            }
+            return result;
+        }
+    }
+
+    // Same splitting as ParallelReducer.ReduceTask, over the int or long view of one mapped chunk.
+    // base is the element index of the chunk's first element in the file.
+    static class BufferReduceTask extends RecursiveAction {
+        private IntBuffer ints;
+        private LongBuffer longs;
+        private long base;
+        private int start, end;
+        private int threshold;
+        private Aggregates acc;
+
+        BufferReduceTask(IntBuffer ints, LongBuffer longs, long base, int start, int end, int threshold, Aggregates acc) {
+            this.ints = ints;
+            this.longs = longs;
+            this.base = base;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.acc = acc;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                if (ints != null) {
+                    accumulate(ints, base, start, end, acc);
+                } else {
+                    accumulate(longs, base, start, end, acc);
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                BufferReduceTask left = new BufferReduceTask(ints, longs, base, start, mid, threshold, acc.emptyCopy());
+                BufferReduceTask right = new BufferReduceTask(ints, longs, base, mid, end, threshold, acc);
+                left.fork();
+                right.compute();
+                left.join();
+                acc.merge(left.acc);
+            }
+        }
+    }
+
+    // Leaf kernels: absolute gets straight from the mapping, nothing is copied to the heap
+
+    static void accumulate(IntBuffer buffer, long base, int from, int to, Aggregates acc) {
+        if (from >= to) {
+            return;
+        }
+        long sum = 0;
+        int min = buffer.get(from), max = min;
+        int argMin = from, argMax = from;
+        for (int i = from; i < to; i++) {
+            int v = buffer.get(i);
+            sum += v;
+            if (v < min) {
+                min = v;
+                argMin = i;
+            }
+            if (v > max) {
+                max = v;
+                argMax = i;
+            }
+        }
+        int n = to - from;
+        acc.count = n;
+        acc.sum = sum;
+        acc.min = min;
+        acc.max = max;
+        acc.argMin = base + argMin;
+        acc.argMax = base + argMax;
+        if (acc.variance || acc.histogram != null) {
+            double mean = (double) sum / n;
+            double m2 = 0;
+            for (int i = from; i < to; i++) {
+                int v = buffer.get(i);
+                double d = v - mean;
+                m2 += d * d;
+                ParallelReducer.bin(acc, v);
+            }
+            acc.mean = mean;
+            acc.m2 = m2;
+        }
+    }
+
+    static void accumulate(LongBuffer buffer, long base, int from, int to, Aggregates acc) {
+        if (from >= to) {
+            return;
+        }
+        long sum = 0;
+        long min = buffer.get(from), max = min;
+        int argMin = from, argMax = from;
+        for (int i = from; i < to; i++) {
+            long v = buffer.get(i);
+            sum += v;
+            if (v < min) {
+                min = v;
+                argMin = i;
+            }
+            if (v > max) {
+                max = v;
+                argMax = i;
+            }
+        }
+        int n = to - from;
+        acc.count = n;
+        acc.sum = sum;
+        acc.min = min;
+        acc.max = max;
+        acc.argMin = base + argMin;
+        acc.argMax = base + argMax;
+        if (acc.variance || acc.histogram != null) {
+            double mean = (double) sum / n;
+            double m2 = 0;
+            for (int i = from; i < to; i++) {
+                long v = buffer.get(i);
+                double d = v - mean;
+                m2 += d * d;
+                ParallelReducer.bin(acc, v);
+            }
+            acc.mean = mean;
+            acc.m2 = m2;
+        }
+    }
+
+    // Write count random ints in the given byte order, handy for producing test data
+    static void writeRandomInts(Path file, long count, int bound, ByteOrder order) throws IOException {
+        Random random = new Random();
+        try (OutputStream out = Files.newOutputStream(file);
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16))) {
+            for (long i = 0; i < count; i++) {
+                int value = random.nextInt(bound);
+                data.writeInt(order == ByteOrder.BIG_ENDIAN ? value : Integer.reverseBytes(value));
+            }
+        }
+    }
+
+    // Usage: MappedReducer [file [int|long]]; without arguments a temporary file of random ints is used
+    public static void main(String[] args) throws IOException {
+        Path file;
+        boolean longs = args.length > 1 && args[1].equals("long");
+        if (args.length > 0) {
+            file = Paths.get(args[0]);
+        } else {
+            file = Files.createTempFile("mapped-reducer", ".bin");
+            file.toFile().deleteOnExit();
+            writeRandomInts(file, 50000000L, 1000000, ByteOrder.nativeOrder());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        MappedReducer mappedReducer = new MappedReducer(new ParallelReducer(pool));
+
+        long startTime = System.currentTimeMillis();
+        Aggregates aggregates = longs
+                ? mappedReducer.reduceLongs(file, ByteOrder.nativeOrder())
+                : mappedReducer.reduceInts(file, ByteOrder.nativeOrder());
+        long endTime = System.currentTimeMillis();
+        System.out.println("Aggregates (Mapped): " + aggregates);
+        System.out.println("Mapped time: " + (endTime - startTime) + " ms");
+
+        pool.shutdown();
+    }
+}
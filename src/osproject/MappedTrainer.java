@@ -0,0 +1,296 @@
+package osproject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Out-of-core full-batch training for LogisticRegression. The training set lives in a binary file
+// that is mapped with FileChannel.map chunk by chunk and read straight from the page cache, so it
+// never has to fit in the heap. Every epoch computes the gradients of all chunks in parallel on the
+// pool, each chunk split into leaves like WeightUpdateTask, and sums them in chunk order.
+//
+// File format, little-endian throughout:
+//   int magic "OSLR", int version (1), int features, int reserved (0), long rows,
+//   then one record per row: double label (0 or 1), followed by `features` doubles.
+public class MappedTrainer {
+    static final int MAGIC = 0x4F534C52;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24; // Keeps every record 8-byte aligned
+    static final long CHUNK_BYTES = 1L << 30;
+
+    private final ForkJoinPool pool;
+    private final long chunkBytes;
+
+    public MappedTrainer(ForkJoinPool pool) {
+        this(pool, CHUNK_BYTES);
+    }
+
+    MappedTrainer(ForkJoinPool pool, long chunkBytes) {
+        if (chunkBytes <= 0 || chunkBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("chunkBytes must be positive and below 2 GiB: " + chunkBytes);
+        }
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    // Rows and features from a file header
+    static class Header {
+        final int features;
+        final long rows;
+
+        Header(int features, long rows) {
+            this.features = features;
+            this.rows = rows;
+        }
+
+        long recordBytes() {
+            return 8L * (features + 1);
+        }
+
+        static Header read(FileChannel channel, Path file) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException(file + ": truncated header");
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + ": not a training file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + ": unsupported version " + version);
+            }
+            int features = header.getInt();
+            header.getInt();
+            long rows = header.getLong();
+            Header result = new Header(features, rows);
+            if (features < 0 || rows < 0 || channel.size() != HEADER_BYTES + rows * result.recordBytes()) {
+                throw new IOException(file + ": size does not match " + rows + " rows of " + features + " features");
+            }
+            return result;
+        }
+    }
+
+    // Full-batch gradient descent over the file, same update as LogisticRegression.train
+    public void train(LogisticRegression model, Path file, double lr, int epochs) throws IOException {
+        double[] weights = model.weights();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = Header.read(channel, file);
+            if (header.features != weights.length) {
+                throw new IllegalArgumentException(file + " has " + header.features + " features, the model " + weights.length);
+            }
+            long recordBytes = header.recordBytes();
+            long rowsPerChunk = Math.max(1, chunkBytes / recordBytes);
+            int threshold = ForkThresholds.threshold(ForkThresholds.Kernel.LOGISTIC_GRADIENT, header.rows, weights.length, pool.getParallelism());
+
+            // Map every chunk once (mapping only reserves address space), leaf buffers reused every epoch
+            List<DoubleBuffer> chunks = new ArrayList<>();
+            List<double[][]> buffers = new ArrayList<>();
+            for (long row = 0; row < header.rows; row += rowsPerChunk) {
+                long rows = Math.min(rowsPerChunk, header.rows - row);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + row * recordBytes, rows * recordBytes);
+                chunks.add(mapped.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer());
+                buffers.add(LogisticRegression.gradientBuffers((int) rows, weights.length, threshold));
+            }
+
+            double[] gradient = new double[weights.length];
+            for (int epoch = 0; epoch < epochs; epoch++) {
+                List<ChunkGradientTask> tasks = new ArrayList<>();
+                for (int c = 0; c < chunks.size(); c++) {
+                    ChunkGradientTask task = new ChunkGradientTask(chunks.get(c), weights.length, weights, buffers.get(c));
+                    tasks.add(task);
+                    pool.execute(task);
+                }
+                Arrays.fill(gradient, 0);
+                for (int c = 0; c < tasks.size(); c++) {
+                    tasks.get(c).join();
+                    double[] chunkGradient = buffers.get(c)[0];
+                    for (int j = 0; j < gradient.length; j++) {
+                        gradient[j] += chunkGradient[j];
+                    }
+                }
+                for (int j = 0; j < weights.length; j++) {
+                    weights[j] += lr * gradient[j] / header.rows; // Apply the average gradient
+                }
+            }
+        }
+    }
+
+    // WeightUpdateTask over the records of one mapped chunk: leaf l sums into gradients[l], nodes
+    // fold their right half into their left half, the chunk's gradient ends up in gradients[0]
+    static class ChunkGradientTask extends RecursiveAction {
+        private DoubleBuffer records;
+        private int features;
+        private double[] weights;
+        private double[][] gradients;
+        private int firstLeaf, endLeaf;
+
+        ChunkGradientTask(DoubleBuffer records, int features, double[] weights, double[][] gradients) {
+            this(records, features, weights, gradients, 0, gradients.length);
+        }
+
+        ChunkGradientTask(DoubleBuffer records, int features, double[] weights, double[][] gradients, int firstLeaf, int endLeaf) {
+            this.records = records;
+            this.features = features;
+            this.weights = weights;
+            this.gradients = gradients;
+            this.firstLeaf = firstLeaf;
+            this.endLeaf = endLeaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (endLeaf - firstLeaf == 1) {
+                double[] gradient = gradients[firstLeaf];
+                Arrays.fill(gradient, 0);
+                int rows = records.limit() / (features + 1);
+                int start = (int) ((long) firstLeaf * rows / gradients.length);
+                int end = (int) ((long) endLeaf * rows / gradients.length);
+                addGradient(records, features, weights, start, end, gradient);
+            } else {
+                int mid = (firstLeaf + endLeaf) >>> 1;
+                invokeAll(new ChunkGradientTask(records, features, weights, gradients, firstLeaf, mid),
+                        new ChunkGradientTask(records, features, weights, gradients, mid, endLeaf));
+                double[] left = gradients[firstLeaf], right = gradients[mid];
+                for (int j = 0; j < left.length; j++) {
+                    left[j] += right[j];
+                }
+            }
+        }
+    }
+
+    // Leaf kernel: absolute gets straight from the mapping, nothing is copied to the heap
+    static void addGradient(DoubleBuffer records, int features, double[] weights, int from, int to, double[] gradient) {
+        int recordLength = features + 1;
+        for (int i = from, base = from * recordLength; i < to; i++, base += recordLength) {
+            double prediction = 0.0;
+            for (int j = 0; j < features; j++) {
+                prediction += weights[j] * records.get(base + 1 + j);
+            }
+            double error = records.get(base) - LogisticRegression.sigmoid(prediction);
+            for (int j = 0; j < features; j++) {
+                gradient[j] += error * records.get(base + 1 + j);
+            }
+        }
+    }
+
+    // Streams rows into a training file; the row count in the header is filled in by close()
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final int features;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long rows;
+
+        public Writer(Path file, int features) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.features = features;
+            buffer.position(HEADER_BYTES); // Header written last
+            if (8L * (features + 1) > buffer.capacity()) {
+                channel.close();
+                throw new IllegalArgumentException("Too many features for one record buffer: " + features);
+            }
+        }
+
+        public void append(double[] x, double label) throws IOException {
+            if (x.length != features) {
+                throw new IllegalArgumentException("Row has " + x.length + " features, file has " + features);
+            }
+            if (buffer.remaining() < 8 * (features + 1)) {
+                flush();
+            }
+            buffer.putDouble(label);
+            for (double v : x) {
+                buffer.putDouble(v);
+            }
+            rows++;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(features).putInt(0).putLong(rows).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // Write `rows` rows of synthetic data in the style of LogisticRegression.syntheticData, row by row
+    static void writeSynthetic(Path file, long rows, int features, long seed) throws IOException {
+        Random random = new Random(seed);
+        double[] truth = new double[features];
+        for (int j = 0; j < features; j++) {
+            truth[j] = random.nextGaussian();
+        }
+        double[] x = new double[features];
+        try (Writer writer = new Writer(file, features)) {
+            for (long i = 0; i < rows; i++) {
+                double z = 0;
+                for (int j = 0; j < features; j++) {
+                    x[j] = random.nextGaussian();
+                    z += truth[j] * x[j];
+                }
+                writer.append(x, random.nextDouble() < LogisticRegression.sigmoid(z) ? 1 : 0);
+            }
+        }
+    }
+
+    // Usage: MappedTrainer [file [epochs]]; without a file a temporary one of synthetic rows is used
+    public static void main(String[] args) throws IOException {
+        Path file;
+        if (args.length > 0) {
+            file = Paths.get(args[0]);
+        } else {
+            file = Files.createTempFile("mapped-trainer", ".bin");
+            file.toFile().deleteOnExit();
+            long startTime = System.currentTimeMillis();
+            writeSynthetic(file, 4000000L, 16, 42);
+            long endTime = System.currentTimeMillis();
+            System.out.println("Wrote " + Files.size(file) / (1 << 20) + " MB of training data in " + (endTime - startTime) + " ms");
+        }
+        int epochs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        int features;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            features = Header.read(channel, file).features;
+        }
+        ForkJoinPool pool = new ForkJoinPool();
+        LogisticRegression model = new LogisticRegression(features);
+        long startTime = System.currentTimeMillis();
+        new MappedTrainer(pool).train(model, file, 0.5, epochs);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Mapped training (" + epochs + " epochs) completed in " + (endTime - startTime) + " ms");
+        System.out.println("Weights: " + Arrays.toString(model.weights()));
+        pool.shutdown();
+    }
+}
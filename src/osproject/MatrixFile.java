@@ -0,0 +1,178 @@
+package osproject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// A dense matrix stored in a file and memory-mapped, so it can be far larger than the heap. The
+// file is mapped in row-aligned chunks of at most chunkBytes (a single mapping is limited to
+// 2 GiB); blocks are copied between the mapping and heap arrays, which reads and writes the page
+// cache directly. Blocks of one file may be read and written from several threads as long as the
+// written blocks do not overlap.
+//
+// File format, little-endian throughout:
+//   int magic "OSMX", int version (1), long rows, long columns,
+//   then rows x columns doubles, row-major.
+public class MatrixFile implements Closeable {
+    static final int MAGIC = 0x4F534D58;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24; // Keeps every double 8-byte aligned
+    static final long CHUNK_BYTES = 1L << 30;
+
+    final int rows, columns;
+    private final FileChannel channel;
+    private final int rowsPerChunk;
+    private final List<DoubleBuffer> chunks = new ArrayList<>();
+
+    private MatrixFile(FileChannel channel, int rows, int columns, boolean writable, long chunkBytes) throws IOException {
+        this.channel = channel;
+        this.rows = rows;
+        this.columns = columns;
+        long rowBytes = 8L * Math.max(1, columns);
+        if (rowBytes > chunkBytes) {
+            throw new IllegalArgumentException("A row of " + columns + " doubles does not fit in a " + chunkBytes + " byte chunk");
+        }
+        this.rowsPerChunk = (int) Math.min(Integer.MAX_VALUE, chunkBytes / rowBytes);
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        for (long row = 0; row < rows; row += rowsPerChunk) {
+            long chunkRows = Math.min(rowsPerChunk, rows - row);
+            chunks.add(channel.map(mode, HEADER_BYTES + row * 8L * columns, chunkRows * 8L * columns)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer());
+        }
+    }
+
+    public static MatrixFile open(Path file, boolean writable) throws IOException {
+        return open(file, writable, CHUNK_BYTES);
+    }
+
+    static MatrixFile open(Path file, boolean writable, long chunkBytes) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException(file + ": truncated header");
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + ": not a matrix file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + ": unsupported version " + version);
+            }
+            long rows = header.getLong(), columns = header.getLong();
+            if (rows < 0 || columns < 0 || rows > Integer.MAX_VALUE || columns > Integer.MAX_VALUE
+                    || channel.size() != HEADER_BYTES + 8 * rows * columns) {
+                throw new IOException(file + ": size does not match " + rows + " x " + columns);
+            }
+            return new MatrixFile(channel, (int) rows, (int) columns, writable, chunkBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // New zero-filled rows x columns file, open for writing. The body is left as a hole, so the
+    // file takes no disk space until blocks are written.
+    public static MatrixFile create(Path file, int rows, int columns) throws IOException {
+        return create(file, rows, columns, CHUNK_BYTES);
+    }
+
+    static MatrixFile create(Path file, int rows, int columns, long chunkBytes) throws IOException {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Negative size " + rows + " x " + columns);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(rows).putLong(columns).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            long size = HEADER_BYTES + 8L * rows * columns;
+            if (size > HEADER_BYTES) {
+                channel.write(ByteBuffer.allocate(1), size - 1); // Extends the file
+            }
+        }
+        return open(file, true, chunkBytes);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    // Copy the height x width block at (row, column) into dst, rows dstStride apart from dstOffset
+    public void readBlock(int row, int column, int height, int width, double[] dst, int dstOffset, int dstStride) {
+        checkBlock(row, column, height, width);
+        for (int i = 0; i < height; i++) {
+            int r = row + i;
+            chunks.get(r / rowsPerChunk).get((r % rowsPerChunk) * columns + column, dst, dstOffset + i * dstStride, width);
+        }
+    }
+
+    // Copy a height x width block from src into the file at (row, column)
+    public void writeBlock(int row, int column, int height, int width, double[] src, int srcOffset, int srcStride) {
+        checkBlock(row, column, height, width);
+        for (int i = 0; i < height; i++) {
+            int r = row + i;
+            chunks.get(r / rowsPerChunk).put((r % rowsPerChunk) * columns + column, src, srcOffset + i * srcStride, width);
+        }
+    }
+
+    private void checkBlock(int row, int column, int height, int width) {
+        if (row < 0 || column < 0 || height < 0 || width < 0 || (long) row + height > rows || (long) column + width > columns) {
+            throw new IndexOutOfBoundsException(height + " x " + width + " block at (" + row + ", " + column
+                    + ") outside " + rows + " x " + columns);
+        }
+    }
+
+    // Whole matrix on the heap, for matrices that fit
+    public DenseMatrix read() {
+        DenseMatrix matrix = new DenseMatrix(rows, columns);
+        readBlock(0, 0, rows, columns, matrix.values, 0, columns);
+        return matrix;
+    }
+
+    public static void write(Path file, DenseMatrix matrix) throws IOException {
+        try (MatrixFile out = create(file, matrix.rows, matrix.columns)) {
+            out.writeBlock(0, 0, matrix.rows, matrix.columns, matrix.values, 0, matrix.columns);
+        }
+    }
+
+    // Uniform [0, 1) entries like DenseMatrix.random, written row by row without a heap copy
+    static void writeRandom(Path file, int rows, int columns, long seed) throws IOException {
+        Random random = new Random(seed);
+        double[] row = new double[columns];
+        try (MatrixFile out = create(file, rows, columns)) {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    row[j] = random.nextDouble();
+                }
+                out.writeBlock(i, 0, 1, columns, row, 0, columns);
+            }
+        }
+    }
+
+    // Written blocks reach the file through the page cache; the mappings go away with the buffers
+    @Override
+    public void close() throws IOException {
+        chunks.clear();
+        channel.close();
+    }
+}
@@ -0,0 +1,16 @@
+package osproject;
+
+import java.util.Random;
+
+class MatrixGenerator {
+    public static double[][] generateRandomMatrix(int rows, int columns) {
+        Random rand = new Random();
+        double[][] matrix = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix[i][j] = rand.nextDouble();
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,672 @@
+package osproject;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Dense products on flat row-major storage. Serial and parallel modes run the same cache-blocked
+// Gemm kernel; the parallel mode splits the product recursively on a caller-supplied (or the
+// common) ForkJoinPool, so no threads are created per call.
+public class MatrixMultiplier {
+    static final int BASE = 512;
+    static final int STRASSEN_CUTOFF = 512;
+    static final int COLUMN_STEP = Math.max(Gemm.NR, Gemm.FLOAT_NR); // Column splits keep whole tiles
+    static final int SCATTER_UNITS = 4; // A sparse scatter-add costs about four dense multiply-adds
+    static final long PRIVATE_BLOCK = (long) BASE * BASE; // Largest C block a depth split may copy
+
+    public static double[][] serialMultiplyMatrix(double[][] a, double[][] b) {
+        return multiply(DenseMatrix.of(a), DenseMatrix.of(b)).toArray();
+    }
+
+    public static DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        checkShapes(a, b);
+        DenseMatrix result = new DenseMatrix(a.rows, b.columns);
+        Gemm.multiplyAdd(a.rows, b.columns, a.columns, a.values, 0, a.columns, b.values, 0, b.columns,
+                result.values, 0, result.columns);
+        return result;
+    }
+
+    // The textbook i-j-k loop, kept as the reference the blocked kernel is checked and timed against
+    static double[][] naiveMultiplyMatrix(double[][] a, double[][] b) {
+        int rowsA = a.length;
+        int columnsA = a[0].length;
+        int columnsB = b[0].length;
+
+        double[][] result = new double[rowsA][columnsB];
+
+        for (int i = 0; i < rowsA; i++) {
+            for (int j = 0; j < columnsB; j++) {
+                for (int k = 0; k < columnsA; k++) {
+                    result[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public static double[][] parallelMultiplyMatrix(double[][] a, double[][] b) {
+        return parallelMultiplyMatrix(a, b, ForkJoinPool.commonPool());
+    }
+
+    public static double[][] parallelMultiplyMatrix(double[][] a, double[][] b, ForkJoinPool pool) {
+        return parallelMultiply(DenseMatrix.of(a), DenseMatrix.of(b), pool).toArray();
+    }
+
+    // Recursive divide and conquer on a long-lived pool, see MultiplyTask
+    public static DenseMatrix parallelMultiply(DenseMatrix a, DenseMatrix b, ForkJoinPool pool) {
+        checkShapes(a, b);
+        DenseMatrix result = new DenseMatrix(a.rows, b.columns);
+        pool.invoke(new MultiplyTask(0, 0, 0, a.rows, b.columns, a.columns, leafVolume(a.rows, b.columns, a.columns, pool),
+                blocks(a.values, a.columns, b.values, b.columns, result.values, result.columns)));
+        return result;
+    }
+
+    // Single precision: half the memory traffic and twice the SIMD lanes of double, with relative
+    // errors around 1e-7 * sqrt(k) instead of 1e-16 * sqrt(k)
+    public static FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        checkShapes(a.rows, a.columns, b.rows, b.columns);
+        FloatMatrix result = new FloatMatrix(a.rows, b.columns);
+        Gemm.multiplyAdd(a.rows, b.columns, a.columns, a.values, 0, a.columns, b.values, 0, b.columns,
+                result.values, 0, result.columns);
+        return result;
+    }
+
+    public static FloatMatrix parallelMultiply(FloatMatrix a, FloatMatrix b, ForkJoinPool pool) {
+        checkShapes(a.rows, a.columns, b.rows, b.columns);
+        FloatMatrix result = new FloatMatrix(a.rows, b.columns);
+        pool.invoke(new MultiplyTask(0, 0, 0, a.rows, b.columns, a.columns, leafVolume(a.rows, b.columns, a.columns, pool),
+                blocks(a.values, a.columns, b.values, b.columns, result.values, result.columns)));
+        return result;
+    }
+
+    // Strassen's seven-product recursion while every dimension is at least cutoff, the recursive
+    // multiply below that. Trades one eighth of the multiply-adds per level for 18 matrix additions
+    // and their memory traffic, and rounds differently from the plain product (errors grow with the
+    // number of levels), so it only pays on large products.
+    public static DenseMatrix strassenMultiply(DenseMatrix a, DenseMatrix b, ForkJoinPool pool) {
+        return strassenMultiply(a, b, pool, STRASSEN_CUTOFF);
+    }
+
+    public static DenseMatrix strassenMultiply(DenseMatrix a, DenseMatrix b, ForkJoinPool pool, int cutoff) {
+        checkShapes(a, b);
+        if (cutoff < 2) {
+            throw new IllegalArgumentException("Strassen cutoff must be at least 2: " + cutoff);
+        }
+        double[] product = pool.invoke(new StrassenTask(a.rows, b.columns, a.columns, a.values, b.values, cutoff,
+                leafVolume(a.rows, b.columns, a.columns, pool)));
+        return new DenseMatrix(a.rows, b.columns, product);
+    }
+
+    // Leaf size in multiply-adds: the calibrated fork cutoff, but never more than a cache-sized
+    // BASE x BASE x BASE block, whose B block (2 MB) still fits a server core's L2
+    static long leafVolume(int m, int n, int k, ForkJoinPool pool) {
+        long volume = (long) m * n * k;
+        long threshold = ForkThresholds.threshold(ForkThresholds.Kernel.MATRIX_MULTIPLY, volume, 1, pool.getParallelism());
+        return Math.min(threshold, (long) BASE * BASE * BASE);
+    }
+
+    // Leaf body: C[row.., column..] += A[row.., depth..] * B[depth.., column..] for an m x k block
+    // of A and a k x n block of B
+    interface BlockKernel {
+        void multiplyAdd(int row, int column, int depth, int m, int n, int k);
+
+        // Kernel on the same A and B whose C is a zeroed m x n buffer of its own at (row, column)
+        BlockKernel partial(int row, int column, int m, int n);
+
+        // C += the buffer of a kernel from partial()
+        void addPartial(BlockKernel partial);
+    }
+
+    // Gemm on whole row-major matrices with the given leading dimensions
+    static BlockKernel blocks(double[] a, int lda, double[] b, int ldb, double[] c, int ldc) {
+        return new DoubleBlocks(a, lda, b, ldb, c, ldc, 0, 0, 0, 0);
+    }
+
+    static BlockKernel blocks(float[] a, int lda, float[] b, int ldb, float[] c, int ldc) {
+        return new FloatBlocks(a, lda, b, ldb, c, ldc, 0, 0, 0, 0);
+    }
+
+    // C holds the height x width block of the product at (top, left): element (i, j) of the product
+    // is c[(i - top) * ldc + j - left]
+    static final class DoubleBlocks implements BlockKernel {
+        private final double[] a, b, c;
+        private final int lda, ldb, ldc;
+        private final int top, left, height, width;
+
+        DoubleBlocks(double[] a, int lda, double[] b, int ldb, double[] c, int ldc, int top, int left, int height, int width) {
+            this.a = a;
+            this.lda = lda;
+            this.b = b;
+            this.ldb = ldb;
+            this.c = c;
+            this.ldc = ldc;
+            this.top = top;
+            this.left = left;
+            this.height = height;
+            this.width = width;
+        }
+
+        @Override
+        public void multiplyAdd(int row, int column, int depth, int m, int n, int k) {
+            Gemm.multiplyAdd(m, n, k, a, row * lda + depth, lda, b, depth * ldb + column, ldb,
+                    c, (row - top) * ldc + column - left, ldc);
+        }
+
+        @Override
+        public BlockKernel partial(int row, int column, int m, int n) {
+            return new DoubleBlocks(a, lda, b, ldb, new double[m * n], n, row, column, m, n);
+        }
+
+        @Override
+        public void addPartial(BlockKernel partial) {
+            DoubleBlocks p = (DoubleBlocks) partial;
+            for (int i = 0; i < p.height; i++) {
+                int to = (p.top + i - top) * ldc + p.left - left;
+                for (int j = 0; j < p.width; j++) {
+                    c[to + j] += p.c[i * p.width + j];
+                }
+            }
+        }
+    }
+
+    static final class FloatBlocks implements BlockKernel {
+        private final float[] a, b, c;
+        private final int lda, ldb, ldc;
+        private final int top, left, height, width;
+
+        FloatBlocks(float[] a, int lda, float[] b, int ldb, float[] c, int ldc, int top, int left, int height, int width) {
+            this.a = a;
+            this.lda = lda;
+            this.b = b;
+            this.ldb = ldb;
+            this.c = c;
+            this.ldc = ldc;
+            this.top = top;
+            this.left = left;
+            this.height = height;
+            this.width = width;
+        }
+
+        @Override
+        public void multiplyAdd(int row, int column, int depth, int m, int n, int k) {
+            Gemm.multiplyAdd(m, n, k, a, row * lda + depth, lda, b, depth * ldb + column, ldb,
+                    c, (row - top) * ldc + column - left, ldc);
+        }
+
+        @Override
+        public BlockKernel partial(int row, int column, int m, int n) {
+            return new FloatBlocks(a, lda, b, ldb, new float[m * n], n, row, column, m, n);
+        }
+
+        @Override
+        public void addPartial(BlockKernel partial) {
+            FloatBlocks p = (FloatBlocks) partial;
+            for (int i = 0; i < p.height; i++) {
+                int to = (p.top + i - top) * ldc + p.left - left;
+                for (int j = 0; j < p.width; j++) {
+                    c[to + j] += p.c[i * p.width + j];
+                }
+            }
+        }
+    }
+
+    // C += A * B over the m x n x k block at (row, column, depth). Halves the largest of m, n and k
+    // until the block is at most leafVolume multiply-adds, then runs the kernel. Halves of m or n
+    // write disjoint parts of C and run in parallel. The two halves of k add into the same block of
+    // C: while that block is small (at most PRIVATE_BLOCK elements) the second half adds into a
+    // private copy, both run in parallel and the copy is added back after the join, so thin deep
+    // products such as 256 x 256 x 10^6 still spread over the pool; larger blocks run the halves
+    // one after the other (each may still fork inside along m and n). Any shape works: splits are
+    // rounded to whole kernel tiles, never to powers of two.
+    static class MultiplyTask extends RecursiveAction {
+        private int row, column, depth;
+        private int m, n, k;
+        private long leafVolume;
+        private BlockKernel kernel;
+
+        MultiplyTask(int row, int column, int depth, int m, int n, int k, long leafVolume, BlockKernel kernel) {
+            this.row = row;
+            this.column = column;
+            this.depth = depth;
+            this.m = m;
+            this.n = n;
+            this.k = k;
+            this.leafVolume = leafVolume;
+            this.kernel = kernel;
+        }
+
+        @Override
+        protected void compute() {
+            if ((long) m * n * k <= leafVolume || Math.max(m, Math.max(n, k)) < 2 * COLUMN_STEP) {
+                kernel.multiplyAdd(row, column, depth, m, n, k);
+            } else if (m >= n && m >= k) {
+                int mid = half(m, Gemm.MR);
+                invokeAll(new MultiplyTask(row, column, depth, mid, n, k, leafVolume, kernel),
+                        new MultiplyTask(row + mid, column, depth, m - mid, n, k, leafVolume, kernel));
+            } else if (n >= k) {
+                int mid = half(n, COLUMN_STEP);
+                invokeAll(new MultiplyTask(row, column, depth, m, mid, k, leafVolume, kernel),
+                        new MultiplyTask(row, column + mid, depth, m, n - mid, k, leafVolume, kernel));
+            } else if ((long) m * n <= PRIVATE_BLOCK) {
+                int mid = half(k, Gemm.MR);
+                BlockKernel partial = kernel.partial(row, column, m, n);
+                invokeAll(new MultiplyTask(row, column, depth, m, n, mid, leafVolume, kernel),
+                        new MultiplyTask(row, column, depth + mid, m, n, k - mid, leafVolume, partial));
+                kernel.addPartial(partial);
+            } else {
+                int mid = half(k, Gemm.MR);
+                new MultiplyTask(row, column, depth, m, n, mid, leafVolume, kernel).compute();
+                new MultiplyTask(row, column, depth + mid, m, n, k - mid, leafVolume, kernel).compute();
+            }
+        }
+
+        // Split point near the middle on a multiple of step
+        private static int half(int length, int step) {
+            return (length / 2 + step - 1) / step * step;
+        }
+    }
+
+    // Product of a contiguous m x k matrix and a contiguous k x n matrix as a new m x n array.
+    // Odd sizes are handled by zero padding: each operand is cut into quadrants of the rounded-up
+    // half size, the bottom and right ones padded with zeros, and only the real part of the seven
+    // products is written back. The seven products run in parallel.
+    static class StrassenTask extends RecursiveTask<double[]> {
+        private int m, n, k;
+        private double[] a, b;
+        private int cutoff;
+        private long leafVolume;
+
+        StrassenTask(int m, int n, int k, double[] a, double[] b, int cutoff, long leafVolume) {
+            this.m = m;
+            this.n = n;
+            this.k = k;
+            this.a = a;
+            this.b = b;
+            this.cutoff = cutoff;
+            this.leafVolume = leafVolume;
+        }
+
+        @Override
+        protected double[] compute() {
+            double[] c = new double[m * n];
+            if (Math.min(m, Math.min(n, k)) < cutoff) {
+                new MultiplyTask(0, 0, 0, m, n, k, leafVolume, blocks(a, k, b, n, c, n)).compute();
+                return c;
+            }
+            int h = (m + 1) / 2, w = (n + 1) / 2, d = (k + 1) / 2;
+            double[] a11 = quadrant(a, m, k, 0, 0, h, d), a12 = quadrant(a, m, k, 0, d, h, d);
+            double[] a21 = quadrant(a, m, k, h, 0, h, d), a22 = quadrant(a, m, k, h, d, h, d);
+            double[] b11 = quadrant(b, k, n, 0, 0, d, w), b12 = quadrant(b, k, n, 0, w, d, w);
+            double[] b21 = quadrant(b, k, n, d, 0, d, w), b22 = quadrant(b, k, n, d, w, d, w);
+
+            StrassenTask[] products = {
+                    product(h, w, d, combine(a11, a22, 1), combine(b11, b22, 1)),   // M1 = (A11 + A22)(B11 + B22)
+                    product(h, w, d, combine(a21, a22, 1), b11),                    // M2 = (A21 + A22) B11
+                    product(h, w, d, a11, combine(b12, b22, -1)),                   // M3 = A11 (B12 - B22)
+                    product(h, w, d, a22, combine(b21, b11, -1)),                   // M4 = A22 (B21 - B11)
+                    product(h, w, d, combine(a11, a12, 1), b22),                    // M5 = (A11 + A12) B22
+                    product(h, w, d, combine(a21, a11, -1), combine(b11, b12, 1)),  // M6 = (A21 - A11)(B11 + B12)
+                    product(h, w, d, combine(a12, a22, -1), combine(b21, b22, 1))   // M7 = (A12 - A22)(B21 + B22)
+            };
+            invokeAll(products);
+            double[] m1 = products[0].join(), m2 = products[1].join(), m3 = products[2].join(), m4 = products[3].join();
+            double[] m5 = products[4].join(), m6 = products[5].join(), m7 = products[6].join();
+
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    int q = (i % h) * w + j % w;
+                    double value;
+                    if (i < h) {
+                        value = j < w ? m1[q] + m4[q] - m5[q] + m7[q]  // C11
+                                : m3[q] + m5[q];                       // C12
+                    } else {
+                        value = j < w ? m2[q] + m4[q]                  // C21
+                                : m1[q] - m2[q] + m3[q] + m6[q];       // C22
+                    }
+                    c[i * n + j] = value;
+                }
+            }
+            return c;
+        }
+
+        private StrassenTask product(int h, int w, int d, double[] x, double[] y) {
+            return new StrassenTask(h, w, d, x, y, cutoff, leafVolume);
+        }
+
+        // rows x columns block of src (srcRows x srcColumns) at (row, column), zero padded past its edges
+        private static double[] quadrant(double[] src, int srcRows, int srcColumns, int row, int column, int rows, int columns) {
+            double[] block = new double[rows * columns];
+            int copyColumns = Math.min(columns, srcColumns - column);
+            for (int i = 0; i < rows && row + i < srcRows; i++) {
+                System.arraycopy(src, (row + i) * srcColumns + column, block, i * columns, copyColumns);
+            }
+            return block;
+        }
+
+        // x + sign * y
+        private static double[] combine(double[] x, double[] y, double sign) {
+            double[] sum = new double[x.length];
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] = x[i] + sign * y[i];
+            }
+            return sum;
+        }
+    }
+
+    // Sparse x dense: row i of the result is the sum, over the non-zeros a[i][p] of row i, of
+    // a[i][p] times row p of b, one unit-stride pass over a row of b per non-zero. The cost is
+    // nnz(a) x b.columns multiply-adds instead of a.rows x a.columns x b.columns.
+    public static DenseMatrix multiply(CsrMatrix a, DenseMatrix b) {
+        return parallelMultiply(a, b, null);
+    }
+
+    // Rows are split so every leaf holds about the same number of non-zeros, not of rows
+    public static DenseMatrix parallelMultiply(CsrMatrix a, DenseMatrix b, ForkJoinPool pool) {
+        checkShapes(a.rows, a.columns, b.rows, b.columns);
+        DenseMatrix result = new DenseMatrix(a.rows, b.columns);
+        int n = b.columns;
+        long[] work = new long[a.rows + 1];
+        for (int i = 0; i <= a.rows; i++) {
+            work[i] = a.rowStart[i];
+        }
+        forRows(work, n, pool, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int cRow = i * n;
+                for (int p = a.rowStart[i]; p < a.rowStart[i + 1]; p++) {
+                    double x = a.values[p];
+                    int bRow = a.columnIndex[p] * n;
+                    for (int j = 0; j < n; j++) {
+                        result.values[cRow + j] += x * b.values[bRow + j];
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    // Dense x sparse: result[i][j] is row i of a gathered at the non-zero rows of column j of b
+    public static DenseMatrix multiply(DenseMatrix a, CscMatrix b) {
+        return parallelMultiply(a, b, null);
+    }
+
+    public static DenseMatrix parallelMultiply(DenseMatrix a, CscMatrix b, ForkJoinPool pool) {
+        checkShapes(a.rows, a.columns, b.rows, b.columns);
+        DenseMatrix result = new DenseMatrix(a.rows, b.columns);
+        int k = a.columns, n = b.columns;
+        long[] work = new long[a.rows + 1];
+        for (int i = 0; i <= a.rows; i++) {
+            work[i] = (long) i * b.values.length; // Every row of a meets every non-zero of b
+        }
+        forRows(work, 1, pool, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int aRow = i * k;
+                for (int j = 0; j < n; j++) {
+                    double sum = 0;
+                    for (int p = b.columnStart[j]; p < b.columnStart[j + 1]; p++) {
+                        sum += a.values[aRow + b.rowIndex[p]] * b.values[p];
+                    }
+                    result.values[i * n + j] = sum;
+                }
+            }
+        });
+        return result;
+    }
+
+    // Sparse x sparse, row by row (Gustavson): row i of the result merges the rows of b picked by
+    // the non-zeros of row i of a. A symbolic pass counts the distinct columns of every result row,
+    // so the output arrays are allocated once at their exact size; a numeric pass then scatters into
+    // a dense accumulator and gathers the touched columns in ascending order. Both passes split the
+    // rows by multiply-adds (the sum over row i of a of the lengths of the rows of b it selects).
+    public static CsrMatrix multiply(CsrMatrix a, CsrMatrix b) {
+        return parallelMultiply(a, b, null);
+    }
+
+    public static CsrMatrix parallelMultiply(CsrMatrix a, CsrMatrix b, ForkJoinPool pool) {
+        checkShapes(a.rows, a.columns, b.rows, b.columns);
+        int rows = a.rows, n = b.columns;
+        long[] work = new long[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            long products = 1; // Visiting an empty row is not free either
+            for (int p = a.rowStart[i]; p < a.rowStart[i + 1]; p++) {
+                int row = a.columnIndex[p];
+                products += b.rowStart[row + 1] - b.rowStart[row];
+            }
+            work[i + 1] = work[i] + products;
+        }
+
+        int[] rowStart = new int[rows + 1];
+        forRows(work, SCATTER_UNITS, pool, (from, to) -> {
+            int[] lastRow = new int[n];
+            Arrays.fill(lastRow, -1);
+            for (int i = from; i < to; i++) {
+                int count = 0;
+                for (int p = a.rowStart[i]; p < a.rowStart[i + 1]; p++) {
+                    int row = a.columnIndex[p];
+                    for (int q = b.rowStart[row]; q < b.rowStart[row + 1]; q++) {
+                        if (lastRow[b.columnIndex[q]] != i) {
+                            lastRow[b.columnIndex[q]] = i;
+                            count++;
+                        }
+                    }
+                }
+                rowStart[i + 1] = count;
+            }
+        });
+        for (int i = 0; i < rows; i++) {
+            rowStart[i + 1] = Math.addExact(rowStart[i + 1], rowStart[i]);
+        }
+
+        int[] columnIndex = new int[rowStart[rows]];
+        double[] values = new double[rowStart[rows]];
+        forRows(work, SCATTER_UNITS, pool, (from, to) -> {
+            double[] accumulator = new double[n];
+            int[] lastRow = new int[n];
+            Arrays.fill(lastRow, -1);
+            for (int i = from; i < to; i++) {
+                int start = rowStart[i], end = start;
+                for (int p = a.rowStart[i]; p < a.rowStart[i + 1]; p++) {
+                    double x = a.values[p];
+                    int row = a.columnIndex[p];
+                    for (int q = b.rowStart[row]; q < b.rowStart[row + 1]; q++) {
+                        int column = b.columnIndex[q];
+                        if (lastRow[column] != i) {
+                            lastRow[column] = i;
+                            columnIndex[end++] = column;
+                        }
+                        accumulator[column] += x * b.values[q];
+                    }
+                }
+                Arrays.sort(columnIndex, start, end);
+                for (int q = start; q < end; q++) {
+                    values[q] = accumulator[columnIndex[q]];
+                    accumulator[columnIndex[q]] = 0;
+                }
+            }
+        });
+        return new CsrMatrix(rows, n, rowStart, columnIndex, values);
+    }
+
+    // Leaf body over rows [from, to)
+    interface RowKernel {
+        void rows(int from, int to);
+    }
+
+    // Runs kernel over all rows, serially without a pool. work[i] is the cumulative cost of rows
+    // [0, i) and each unit of it costs unitsPerWork multiply-adds.
+    private static void forRows(long[] work, double unitsPerWork, ForkJoinPool pool, RowKernel kernel) {
+        int rows = work.length - 1;
+        if (pool == null) {
+            kernel.rows(0, rows);
+            return;
+        }
+        long leafWork = ForkThresholds.threshold(ForkThresholds.Kernel.MATRIX_MULTIPLY, work[rows], unitsPerWork, pool.getParallelism());
+        pool.invoke(new RowsTask(work, 0, rows, leafWork, kernel));
+    }
+
+    // Splits a range of rows at the row that halves its work, so a few dense rows get leaves of
+    // their own and runs of empty rows are batched together
+    static class RowsTask extends RecursiveAction {
+        private long[] work;
+        private int start, end;
+        private long leafWork;
+        private RowKernel kernel;
+
+        RowsTask(long[] work, int start, int end, long leafWork, RowKernel kernel) {
+            this.work = work;
+            this.start = start;
+            this.end = end;
+            this.leafWork = leafWork;
+            this.kernel = kernel;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1 || work[end] - work[start] <= leafWork) {
+                kernel.rows(start, end);
+            } else {
+                long half = work[start] + (work[end] - work[start]) / 2;
+                int mid = Arrays.binarySearch(work, start, end + 1, half);
+                if (mid < 0) {
+                    mid = -mid - 1;
+                }
+                mid = Math.max(start + 1, Math.min(end - 1, mid));
+                invokeAll(new RowsTask(work, start, mid, leafWork, kernel), new RowsTask(work, mid, end, leafWork, kernel));
+            }
+        }
+    }
+
+    private static void checkShapes(DenseMatrix a, DenseMatrix b) {
+        checkShapes(a.rows, a.columns, b.rows, b.columns);
+    }
+
+    private static void checkShapes(int rowsA, int columnsA, int rowsB, int columnsB) {
+        if (columnsA != rowsB) {
+            throw new IllegalArgumentException("Cannot multiply " + rowsA + " x " + columnsA + " by " + rowsB + " x " + columnsB);
+        }
+    }
+
+    public static void main(String[] args) {
+        int size = 1000; // M size 
+        double[][] matrix1 = MatrixGenerator.generateRandomMatrix(size, size);
+        double[][] matrix2 = MatrixGenerator.generateRandomMatrix(size, size);
+        double flops = 2.0 * size * size * size;
+
+        long startNaive = System.currentTimeMillis();
+        double[][] resultNaive = naiveMultiplyMatrix(matrix1, matrix2);
+        long endNaive = System.currentTimeMillis();
+
+        long startSerial = System.currentTimeMillis();
+        double[][] resultSerial = serialMultiplyMatrix(matrix1, matrix2);
+        long endSerial = System.currentTimeMillis();
+
+        long startParallel = System.currentTimeMillis();
+        double[][] resultParallel = parallelMultiplyMatrix(matrix1, matrix2);
+        long endParallel = System.currentTimeMillis();
+
+        System.out.println("Time taken for naive matrix multiplication: " + (endNaive - startNaive) + " ms ("
+                + gflops(flops, endNaive - startNaive) + " GFLOP/s)");
+        System.out.println("Time taken for serial matrix multiplication: " + (endSerial - startSerial) + " ms ("
+                + gflops(flops, endSerial - startSerial) + " GFLOP/s)");
+        System.out.println("Time taken for parallel matrix multiplication: " + (endParallel - startParallel) + " ms ("
+                + gflops(flops, endParallel - startParallel) + " GFLOP/s)");
+        System.out.println("Largest difference from the naive product: "
+                + Math.max(maxDifference(resultNaive, resultSerial), maxDifference(resultNaive, resultParallel)));
+        System.out.println("Gemm kernels: " + Gemm.KERNELS.name());
+
+        // Double against single precision on the same operands, repeated so both kernels are compiled
+        DenseMatrix doubles1 = DenseMatrix.of(matrix1), doubles2 = DenseMatrix.of(matrix2);
+        FloatMatrix floats1 = FloatMatrix.of(doubles1), floats2 = FloatMatrix.of(doubles2);
+        FloatMatrix resultFloat = null;
+        for (int run = 0; run < 3; run++) {
+            long startDouble = System.currentTimeMillis();
+            multiply(doubles1, doubles2);
+            long endDouble = System.currentTimeMillis();
+            long startFloat = System.currentTimeMillis();
+            resultFloat = multiply(floats1, floats2);
+            long endFloat = System.currentTimeMillis();
+            System.out.println("Serial double: " + (endDouble - startDouble) + " ms (" + gflops(flops, endDouble - startDouble)
+                    + " GFLOP/s), float: " + (endFloat - startFloat) + " ms (" + gflops(flops, endFloat - startFloat) + " GFLOP/s)");
+        }
+        double relativeError = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                relativeError = Math.max(relativeError, Math.abs(resultFloat.get(i, j) - resultSerial[i][j]) / Math.abs(resultSerial[i][j]));
+            }
+        }
+        System.out.println("Largest relative error of the float product: " + relativeError);
+
+        // A larger product of odd, non-square shapes: (1500 x 1700) x (1700 x 2000)
+        Random random = new Random(42);
+        DenseMatrix left = DenseMatrix.random(1500, 1700, random);
+        DenseMatrix right = DenseMatrix.random(1700, 2000, random);
+        double largeFlops = 2.0 * left.rows * left.columns * right.columns;
+        ForkJoinPool pool = new ForkJoinPool();
+
+        startSerial = System.currentTimeMillis();
+        DenseMatrix largeSerial = multiply(left, right);
+        endSerial = System.currentTimeMillis();
+        System.out.println("Serial 1500 x 1700 x 2000: " + (endSerial - startSerial) + " ms ("
+                + gflops(largeFlops, endSerial - startSerial) + " GFLOP/s)");
+
+        startParallel = System.currentTimeMillis();
+        DenseMatrix largeParallel = parallelMultiply(left, right, pool);
+        endParallel = System.currentTimeMillis();
+        System.out.println("Fork/join 1500 x 1700 x 2000 on " + pool.getParallelism() + " workers: " + (endParallel - startParallel)
+                + " ms (" + gflops(largeFlops, endParallel - startParallel) + " GFLOP/s)");
+
+        startParallel = System.currentTimeMillis();
+        DenseMatrix largeStrassen = strassenMultiply(left, right, pool);
+        endParallel = System.currentTimeMillis();
+        System.out.println("Strassen 1500 x 1700 x 2000 (cutoff " + STRASSEN_CUTOFF + "): " + (endParallel - startParallel)
+                + " ms (" + gflops(largeFlops, endParallel - startParallel) + " GFLOP/s equivalent)");
+        System.out.println("Largest difference from the serial product: fork/join "
+                + maxDifference(largeSerial.toArray(), largeParallel.toArray()) + ", Strassen "
+                + maxDifference(largeSerial.toArray(), largeStrassen.toArray()));
+
+        // Sparse 50000 x 50000 with 8 non-zeros per row, except every 100th row holding 2000: dense,
+        // one operand alone would be 20 GB
+        int sparseSize = 50000;
+        CsrMatrix sparse = CsrMatrix.random(sparseSize, sparseSize, i -> i % 100 == 0 ? 2000 : 8, random);
+        DenseMatrix tall = DenseMatrix.random(sparseSize, 64, random);
+        System.out.println("Sparse " + sparseSize + " x " + sparseSize + ": " + sparse.nonZeros() + " non-zeros, "
+                + sparse.memoryBytes() / (1 << 20) + " MB vs " + 8L * sparseSize * sparseSize / (1 << 20) + " MB dense");
+
+        startSerial = System.currentTimeMillis();
+        DenseMatrix sparseDense = multiply(sparse, tall);
+        endSerial = System.currentTimeMillis();
+        startParallel = System.currentTimeMillis();
+        DenseMatrix sparseDenseParallel = parallelMultiply(sparse, tall, pool);
+        endParallel = System.currentTimeMillis();
+        System.out.println("Sparse x dense (x " + tall.rows + " x " + tall.columns + ") serial: " + (endSerial - startSerial)
+                + " ms, parallel: " + (endParallel - startParallel) + " ms, same result: "
+                + Arrays.equals(sparseDense.values, sparseDenseParallel.values));
+
+        startSerial = System.currentTimeMillis();
+        CsrMatrix square = multiply(sparse, sparse);
+        endSerial = System.currentTimeMillis();
+        startParallel = System.currentTimeMillis();
+        CsrMatrix squareParallel = parallelMultiply(sparse, sparse, pool);
+        endParallel = System.currentTimeMillis();
+        System.out.println("Sparse x sparse serial: " + (endSerial - startSerial) + " ms, parallel: " + (endParallel - startParallel)
+                + " ms, " + square.nonZeros() + " non-zeros, same result: " + Arrays.equals(square.values, squareParallel.values));
+        pool.shutdown();
+    }
+
+    static String gflops(double flops, long millis) {
+        return String.format(Locale.ROOT, "%.2f", flops / Math.max(1, millis) / 1e6);
+    }
+
+    static double maxDifference(double[][] x, double[][] y) {
+        double difference = 0;
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                difference = Math.max(difference, Math.abs(x[i][j] - y[i][j]));
+            }
+        }
+        return difference;
+    }
+}
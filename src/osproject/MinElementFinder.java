@@ -0,0 +1,107 @@
+package osproject;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.Random;
+
+public class MinElementFinder {
+
+    // Serial method to find the minimum element
+    static int findMinSerial(int[] array) {
+        return IntKernels.INSTANCE.min(array, 0, array.length);
+    }
+
+    // Leaf loop timed by ForkThresholds for Kernel.MIN_ELEMENT
+    static ForkThresholds.Workload probe(Random random) {
+        int[] array = random.ints(1 << 16, 0, 1000000).toArray();
+        return new ForkThresholds.Workload(() -> ForkThresholds.sink += findMinSerial(array), array.length);
+    }
+
+    // Parallel task for finding the minimum element
+    static class MinFinderParallel extends RecursiveTask<Integer> {
+        private int[] array;
+        private int start, end;
+        private int threshold;
+
+        MinFinderParallel(int[] array, int start, int end) {
+            this(array, start, end, ForkThresholds.FROM_POOL);
+        }
+
+        MinFinderParallel(int[] array, int start, int end, int threshold) {
+            this.array = array;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            threshold = ForkThresholds.resolve(threshold, ForkThresholds.Kernel.MIN_ELEMENT, end - start, 1);
+            if (end - start <= threshold) {
+                return IntKernels.INSTANCE.min(array, start, end);
+            } else {
+                int mid = (start + end) / 2;
+                MinFinderParallel left = new MinFinderParallel(array, start, mid, threshold);
+                MinFinderParallel right = new MinFinderParallel(array, mid, end, threshold);
+                left.fork();
+                int rightResult = right.compute();
+                int leftResult = left.join();
+                return Math.min(leftResult, rightResult);
+            }
+        }
+    }
+
+    // Out-of-core mode: minimum of a binary file of native-order ints through memory mappings
+    private static void findMinFile(String path) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool();
+        long startTime = System.currentTimeMillis();
+        Aggregates aggregates = new MappedReducer(new ParallelReducer(pool)).reduceInts(Paths.get(path), ByteOrder.nativeOrder());
+        long endTime = System.currentTimeMillis();
+        System.out.println("Minimum element (Mapped): " + aggregates.getMin());
+        System.out.println("Mapped time: " + (endTime - startTime) + " ms");
+        pool.shutdown();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            findMinFile(args[0]);
+            return;
+        }
+
+        int[] array = new int[100000]; // Large array of 10,000 elements
+        Random random = new Random();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(10000000); // Random integers up to 100,000
+        }
+
+        System.out.println("Leaf kernels: " + IntKernels.INSTANCE.name());
+
+        // Serial computation
+        long startTime = System.currentTimeMillis();
+        int minSerial = findMinSerial(array);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Minimum element (Serial): " + minSerial);
+        System.out.println("Serial time: " + (endTime - startTime) + " ms");
+
+        // Parallel computation
+        ForkJoinPool pool = new ForkJoinPool();
+        MinFinderParallel task = new MinFinderParallel(array, 0, array.length);
+        startTime = System.currentTimeMillis();
+        int minParallel = pool.invoke(task);
+        endTime = System.currentTimeMillis();
+        System.out.println("Minimum element (Parallel): " + minParallel);
+        System.out.println("Parallel time: " + (endTime - startTime) + " ms");
+
+        // Shared reduction engine: sum, min and max of the same pass
+        startTime = System.currentTimeMillis();
+        Aggregates aggregates = new ParallelReducer(pool).reduce(array);
+        endTime = System.currentTimeMillis();
+        System.out.println("Minimum element (ParallelReducer): " + aggregates.getMin());
+        System.out.println("ParallelReducer time: " + (endTime - startTime) + " ms");
+
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,98 @@
+package osproject;
+
+import java.util.Arrays;
+
+// Fixed-size max-heap of the k best candidates seen so far, ordered by squared distance and then
+// by training index, so ties resolve the same way as a stable sort of the training set would
+class NeighbourHeap {
+    final int k;
+    final double[] distances;
+    final int[] ids;
+    int size;
+
+    NeighbourHeap(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.distances = new double[k];
+        this.ids = new int[k];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isFull() {
+        return size == k;
+    }
+
+    // Distance a candidate must not exceed to get in, infinite until the heap is full
+    double worst() {
+        return size < k ? Double.POSITIVE_INFINITY : distances[0];
+    }
+
+    void offer(double distance, int id) {
+        if (size < k) {
+            int i = size++;
+            // Sift up
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(distance, id, distances[parent], ids[parent])) {
+                    break;
+                }
+                distances[i] = distances[parent];
+                ids[i] = ids[parent];
+                i = parent;
+            }
+            distances[i] = distance;
+            ids[i] = id;
+        } else if (worse(distances[0], ids[0], distance, id)) {
+            // Replace the worst and sift down
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && worse(distances[child + 1], ids[child + 1], distances[child], ids[child])) {
+                    child++;
+                }
+                if (!worse(distances[child], ids[child], distance, id)) {
+                    break;
+                }
+                distances[i] = distances[child];
+                ids[i] = ids[child];
+                i = child;
+            }
+            distances[i] = distance;
+            ids[i] = id;
+        }
+    }
+
+    // Fold in the candidates of another shard
+    void merge(NeighbourHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.distances[i], other.ids[i]);
+        }
+    }
+
+    // Candidate ids from nearest to farthest
+    int[] sortedIds() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> worse(distances[a], ids[a], distances[b], ids[b]) ? 1
+                : worse(distances[b], ids[b], distances[a], ids[a]) ? -1 : 0);
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = ids[order[i]];
+        }
+        return sorted;
+    }
+
+    private static boolean worse(double distanceA, int idA, double distanceB, int idB) {
+        return distanceA > distanceB || (distanceA == distanceB && idA > idB);
+    }
+}
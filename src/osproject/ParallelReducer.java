@@ -0,0 +1,311 @@
+package osproject;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// One fork/join reduction for int[], long[] and double[] that gathers sum, min, max, argmin/argmax,
+// count and, on request, variance and a histogram in a single pass over memory.
+public class ParallelReducer {
+    final ForkJoinPool pool;
+    private final int threshold; // 0 picks a calibrated cutoff per call
+    private final boolean variance;
+    private final int bins;
+    private final double histogramLow, histogramHigh;
+
+    public ParallelReducer(ForkJoinPool pool) {
+        this(pool, 0, false, 0, 0, 0);
+    }
+
+    private ParallelReducer(ForkJoinPool pool, int threshold, boolean variance, int bins, double histogramLow, double histogramHigh) {
+        this.pool = pool;
+        this.threshold = threshold;
+        this.variance = variance;
+        this.bins = bins;
+        this.histogramLow = histogramLow;
+        this.histogramHigh = histogramHigh;
+    }
+
+    public ParallelReducer withThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        return new ParallelReducer(pool, threshold, variance, bins, histogramLow, histogramHigh);
+    }
+
+    public ParallelReducer withVariance() {
+        return new ParallelReducer(pool, threshold, true, bins, histogramLow, histogramHigh);
+    }
+
+    // Equal-width bins over [low, high)
+    public ParallelReducer withHistogram(int bins, double low, double high) {
+        if (bins < 1 || !(low < high)) {
+            throw new IllegalArgumentException("need bins >= 1 and low < high");
+        }
+        return new ParallelReducer(pool, threshold, variance, bins, low, high);
+    }
+
+    public Aggregates reduce(int[] array) {
+        return reduce(array, 0, array.length);
+    }
+
+    public Aggregates reduce(int[] array, int from, int to) {
+        return invoke(array, null, null, from, to, false);
+    }
+
+    public Aggregates reduce(long[] array) {
+        return reduce(array, 0, array.length);
+    }
+
+    public Aggregates reduce(long[] array, int from, int to) {
+        return invoke(null, array, null, from, to, false);
+    }
+
+    public Aggregates reduce(double[] array) {
+        return reduce(array, 0, array.length);
+    }
+
+    public Aggregates reduce(double[] array, int from, int to) {
+        return invoke(null, null, array, from, to, true);
+    }
+
+    // Same aggregates on the calling thread, for comparison with the fork/join path
+    public Aggregates reduceSerial(int[] array) {
+        Aggregates acc = newAggregates(false);
+        accumulate(array, 0, array.length, acc);
+        return acc;
+    }
+
+    public Aggregates reduceSerial(long[] array) {
+        Aggregates acc = newAggregates(false);
+        accumulate(array, 0, array.length, acc);
+        return acc;
+    }
+
+    public Aggregates reduceSerial(double[] array) {
+        Aggregates acc = newAggregates(true);
+        accumulate(array, 0, array.length, acc);
+        return acc;
+    }
+
+    // Leaf size for n elements; variance and histogram re-read every leaf, doubling its cost
+    int thresholdFor(long n) {
+        if (threshold > 0) {
+            return threshold;
+        }
+        double unitsPerElement = variance || bins > 0 ? 2 : 1;
+        return ForkThresholds.threshold(ForkThresholds.Kernel.MIN_ELEMENT, n, unitsPerElement, pool.getParallelism());
+    }
+
+    Aggregates newAggregates(boolean floating) {
+        return new Aggregates(floating, variance, bins, histogramLow, histogramHigh);
+    }
+
+    private Aggregates invoke(int[] ints, long[] longs, double[] doubles, int from, int to, boolean floating) {
+        Aggregates acc = newAggregates(floating);
+        pool.invoke(new ReduceTask(ints, longs, doubles, from, to, thresholdFor(to - from), acc));
+        return acc;
+    }
+
+    // Parallel task; the right half keeps writing into the parent's accumulator so only forked
+    // halves allocate one, and no result is ever boxed
+    static class ReduceTask extends RecursiveAction {
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private int start, end;
+        private int threshold;
+        private Aggregates acc;
+
+        ReduceTask(int[] ints, long[] longs, double[] doubles, int start, int end, int threshold, Aggregates acc) {
+            this.ints = ints;
+            this.longs = longs;
+            this.doubles = doubles;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.acc = acc;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                if (ints != null) {
+                    accumulate(ints, start, end, acc);
+                } else if (longs != null) {
+                    accumulate(longs, start, end, acc);
+                } else {
+                    accumulate(doubles, start, end, acc);
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                ReduceTask left = new ReduceTask(ints, longs, doubles, start, mid, threshold, acc.emptyCopy());
+                ReduceTask right = new ReduceTask(ints, longs, doubles, mid, end, threshold, acc);
+                left.fork();
+                right.compute();
+                left.join();
+                acc.merge(left.acc);
+            }
+        }
+    }
+
+    // Leaf kernels: fill an empty accumulator from one range. The first loop streams the data,
+    // the optional second loop re-reads the same (cache-resident) range for variance and histogram.
+
+    static void accumulate(int[] a, int from, int to, Aggregates acc) {
+        if (from >= to) {
+            return;
+        }
+        long sum = 0;
+        int min = a[from], max = a[from];
+        int argMin = from, argMax = from;
+        for (int i = from; i < to; i++) {
+            int v = a[i];
+            sum += v;
+            if (v < min) {
+                min = v;
+                argMin = i;
+            }
+            if (v > max) {
+                max = v;
+                argMax = i;
+            }
+        }
+        int n = to - from;
+        acc.count = n;
+        acc.sum = sum;
+        acc.min = min;
+        acc.max = max;
+        acc.argMin = argMin;
+        acc.argMax = argMax;
+        if (acc.variance || acc.histogram != null) {
+            double mean = (double) sum / n;
+            double m2 = 0;
+            for (int i = from; i < to; i++) {
+                double d = a[i] - mean;
+                m2 += d * d;
+                bin(acc, a[i]);
+            }
+            acc.mean = mean;
+            acc.m2 = m2;
+        }
+    }
+
+    static void accumulate(long[] a, int from, int to, Aggregates acc) {
+        if (from >= to) {
+            return;
+        }
+        long sum = 0;
+        long min = a[from], max = a[from];
+        int argMin = from, argMax = from;
+        for (int i = from; i < to; i++) {
+            long v = a[i];
+            sum += v;
+            if (v < min) {
+                min = v;
+                argMin = i;
+            }
+            if (v > max) {
+                max = v;
+                argMax = i;
+            }
+        }
+        int n = to - from;
+        acc.count = n;
+        acc.sum = sum;
+        acc.min = min;
+        acc.max = max;
+        acc.argMin = argMin;
+        acc.argMax = argMax;
+        if (acc.variance || acc.histogram != null) {
+            double mean = (double) sum / n;
+            double m2 = 0;
+            for (int i = from; i < to; i++) {
+                double d = a[i] - mean;
+                m2 += d * d;
+                bin(acc, a[i]);
+            }
+            acc.mean = mean;
+            acc.m2 = m2;
+        }
+    }
+
+    static void accumulate(double[] a, int from, int to, Aggregates acc) {
+        if (from >= to) {
+            return;
+        }
+        double sum = 0;
+        double min = a[from], max = a[from];
+        int argMin = from, argMax = from;
+        for (int i = from; i < to; i++) {
+            double v = a[i];
+            sum += v;
+            if (v < min) {
+                min = v;
+                argMin = i;
+            }
+            if (v > max) {
+                max = v;
+                argMax = i;
+            }
+        }
+        int n = to - from;
+        acc.count = n;
+        acc.doubleSum = sum;
+        acc.doubleMin = min;
+        acc.doubleMax = max;
+        acc.argMin = argMin;
+        acc.argMax = argMax;
+        if (acc.variance || acc.histogram != null) {
+            double mean = sum / n;
+            double m2 = 0;
+            for (int i = from; i < to; i++) {
+                double d = a[i] - mean;
+                m2 += d * d;
+                bin(acc, a[i]);
+            }
+            acc.mean = mean;
+            acc.m2 = m2;
+        }
+    }
+
+    static void bin(Aggregates acc, double v) {
+        long[] histogram = acc.histogram;
+        if (histogram == null) {
+            return;
+        }
+        if (v >= acc.histogramLow && v < acc.histogramHigh) {
+            int b = (int) ((v - acc.histogramLow) / (acc.histogramHigh - acc.histogramLow) * histogram.length);
+            histogram[Math.min(b, histogram.length - 1)]++;
+        } else {
+            acc.outOfRange++;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] array = new int[10000000]; // Array of 1,00,00,000 elements
+        Random random = new Random();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(1000000);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        ParallelReducer reducer = new ParallelReducer(pool).withVariance().withHistogram(10, 0, 1000000);
+
+        // Serial pass
+        long startTime = System.currentTimeMillis();
+        Aggregates serial = reducer.reduceSerial(array);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Aggregates (Serial): " + serial);
+        System.out.println("Serial time: " + (endTime - startTime) + " ms");
+
+        // Parallel pass
+        startTime = System.currentTimeMillis();
+        Aggregates parallel = reducer.reduce(array);
+        endTime = System.currentTimeMillis();
+        System.out.println("Aggregates (Parallel): " + parallel);
+        System.out.println("Parallel time: " + (endTime - startTime) + " ms");
+
+        pool.shutdown();
+    }
+}
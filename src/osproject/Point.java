@@ -0,0 +1,26 @@
+package osproject;
+
+class Point {
+    double x, y;
+    int label; // Class label
+
+    Point(double x, double y, int label) {
+        this.x = x;
+        this.y = y;
+        this.label = label;
+    }
+
+    // Computes the Euclidean distance between two points
+    static double distance(Point a, Point b) {
+        return Math.sqrt(distanceSquared(a, b));
+    }
+
+    double[] coordinates() {
+        return new double[]{x, y};
+    }
+
+    // Same ordering as distance without the square root, enough for ranking neighbours
+    static double distanceSquared(Point a, Point b) {
+        return (a.x - b.x) * (a.x - b.x) + (a.y - b.y) * (a.y - b.y);
+    }
+}
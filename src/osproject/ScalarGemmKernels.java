@@ -0,0 +1,127 @@
+package osproject;
+
+// The 4 x 4 register tile of plain Java arithmetic: 16 local accumulators, 8 loads feeding 16
+// multiply-adds per k step. Used when the Vector API is not available.
+class ScalarGemmKernels implements GemmKernels {
+
+    @Override
+    public int doubleColumns() {
+        return 4;
+    }
+
+    @Override
+    public int floatColumns() {
+        return 4;
+    }
+
+    @Override
+    public void tile(int kc, double[] a, int aRow, int lda, double[] panel, int strip,
+                               double[] c, int cTile, int ldc) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+        int a0 = aRow, a1 = a0 + lda, a2 = a1 + lda, a3 = a2 + lda;
+        for (int p = 0, pb = strip; p < kc; p++, pb += 4) {
+            double b0 = panel[pb], b1 = panel[pb + 1], b2 = panel[pb + 2], b3 = panel[pb + 3];
+            double x = a[a0 + p];
+            c00 += x * b0;
+            c01 += x * b1;
+            c02 += x * b2;
+            c03 += x * b3;
+            x = a[a1 + p];
+            c10 += x * b0;
+            c11 += x * b1;
+            c12 += x * b2;
+            c13 += x * b3;
+            x = a[a2 + p];
+            c20 += x * b0;
+            c21 += x * b1;
+            c22 += x * b2;
+            c23 += x * b3;
+            x = a[a3 + p];
+            c30 += x * b0;
+            c31 += x * b1;
+            c32 += x * b2;
+            c33 += x * b3;
+        }
+        int r = cTile;
+        c[r] += c00;
+        c[r + 1] += c01;
+        c[r + 2] += c02;
+        c[r + 3] += c03;
+        r += ldc;
+        c[r] += c10;
+        c[r + 1] += c11;
+        c[r + 2] += c12;
+        c[r + 3] += c13;
+        r += ldc;
+        c[r] += c20;
+        c[r + 1] += c21;
+        c[r + 2] += c22;
+        c[r + 3] += c23;
+        r += ldc;
+        c[r] += c30;
+        c[r + 1] += c31;
+        c[r + 2] += c32;
+        c[r + 3] += c33;
+    }
+
+    @Override
+    public void tile(int kc, float[] a, int aRow, int lda, float[] panel, int strip,
+                               float[] c, int cTile, int ldc) {
+        float c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        float c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        float c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        float c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+        int a0 = aRow, a1 = a0 + lda, a2 = a1 + lda, a3 = a2 + lda;
+        for (int p = 0, pb = strip; p < kc; p++, pb += 4) {
+            float b0 = panel[pb], b1 = panel[pb + 1], b2 = panel[pb + 2], b3 = panel[pb + 3];
+            float x = a[a0 + p];
+            c00 += x * b0;
+            c01 += x * b1;
+            c02 += x * b2;
+            c03 += x * b3;
+            x = a[a1 + p];
+            c10 += x * b0;
+            c11 += x * b1;
+            c12 += x * b2;
+            c13 += x * b3;
+            x = a[a2 + p];
+            c20 += x * b0;
+            c21 += x * b1;
+            c22 += x * b2;
+            c23 += x * b3;
+            x = a[a3 + p];
+            c30 += x * b0;
+            c31 += x * b1;
+            c32 += x * b2;
+            c33 += x * b3;
+        }
+        int r = cTile;
+        c[r] += c00;
+        c[r + 1] += c01;
+        c[r + 2] += c02;
+        c[r + 3] += c03;
+        r += ldc;
+        c[r] += c10;
+        c[r + 1] += c11;
+        c[r + 2] += c12;
+        c[r + 3] += c13;
+        r += ldc;
+        c[r] += c20;
+        c[r + 1] += c21;
+        c[r + 2] += c22;
+        c[r + 3] += c23;
+        r += ldc;
+        c[r] += c30;
+        c[r + 1] += c31;
+        c[r + 2] += c32;
+        c[r + 3] += c33;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,30 @@
+package osproject;
+
+// Plain element-at-a-time loops, used when the Vector API is not available
+class ScalarIntKernels implements IntKernels {
+
+    @Override
+    public long sum(int[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,653 @@
+package osproject;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SortComparison {
+
+    static final int INSERTION_SORT_CUTOFF = 24; // Ranges below this are insertion sorted
+    static final int NINTHER_CUTOFF = 128;       // Ranges from this size up take Tukey's ninther as pivot
+    static final int RADIX_BITS = 8;             // 256 counters per histogram stay in L1
+    static final int RADIX = 1 << RADIX_BITS;
+    static final int MAX_SAMPLE_BUCKETS = 64;    // With equality buckets, 127 bucket ids fit a byte
+    static final int OVERSAMPLING = 16;          // Sample keys per bucket when picking splitters
+
+    private static final Random random = new Random();
+
+    // Input shapes for comparing the sorts; all but RANDOM break naive quicksorts
+    public enum Distribution {
+        RANDOM,      // uniform in [1, 100000000)
+        SORTED,      // ascending
+        REVERSED,    // descending
+        FEW_UNIQUE,  // 16 distinct values
+        ORGAN_PIPE   // ascending to the middle, then descending
+    }
+
+    // Generate an array of random integers
+    public static int[] generateRandomArray(int size) {
+        return random.ints(size, 1, 100000000).toArray();
+    }
+
+    public static int[] generateArray(Distribution distribution, int size, Random random) {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case RANDOM:
+                    array[i] = 1 + random.nextInt(100000000 - 1);
+                    break;
+                case SORTED:
+                    array[i] = i;
+                    break;
+                case REVERSED:
+                    array[i] = size - i;
+                    break;
+                case FEW_UNIQUE:
+                    array[i] = random.nextInt(16);
+                    break;
+                case ORGAN_PIPE:
+                    array[i] = i < size / 2 ? i : size - i;
+                    break;
+            }
+        }
+        return array;
+    }
+
+    // Quick Sort (Serial): introsort. Pivot is the median of three (or Tukey's ninther on large
+    // ranges), partitioning is three-way so runs of equal keys are finished in one pass, small
+    // ranges go to insertion sort, and a range that is still being partitioned after
+    // 2 log2(n) levels is heapsorted, so no input takes more than O(n log n).
+    public static void quickSort(int[] array, int left, int right) {
+        quickSort(array, left, right, depthLimit(right - left + 1));
+    }
+
+    private static void quickSort(int[] array, int left, int right, int depth) {
+        // Recurse into the smaller side and loop on the larger, so the stack stays O(log n) deep
+        while (right - left + 1 > INSERTION_SORT_CUTOFF) {
+            if (depth-- == 0) {
+                heapSort(array, left, right);
+                return;
+            }
+            long bounds = partition(array, left, right);
+            int lessEnd = (int) (bounds >> 32), greaterStart = (int) bounds;
+            if (lessEnd - left < right - greaterStart) {
+                quickSort(array, left, lessEnd, depth);
+                left = greaterStart;
+            } else {
+                quickSort(array, greaterStart, right, depth);
+                right = lessEnd;
+            }
+        }
+        insertionSort(array, left, right);
+    }
+
+    static int depthLimit(int length) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, length)));
+    }
+
+    // Three-way partition of [left, right] (Bentley-McIlroy): keys equal to the pivot are parked
+    // at both ends during a Hoare scan and swapped into the middle afterwards. Returns lessEnd in
+    // the high and greaterStart in the low 32 bits: [left, lessEnd] < pivot,
+    // (lessEnd, greaterStart) == pivot, [greaterStart, right] > pivot.
+    static long partition(int[] array, int left, int right) {
+        swap(array, left, pivotIndex(array, left, right));
+        int pivot = array[left];
+        int i = left, j = right + 1;
+        int p = left, q = right + 1;
+        while (true) {
+            while (array[++i] < pivot) {
+                if (i == right) {
+                    break;
+                }
+            }
+            while (pivot < array[--j]) {
+                if (j == left) {
+                    break;
+                }
+            }
+            if (i == j && array[i] == pivot) {
+                swap(array, ++p, i);
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(array, i, j);
+            if (array[i] == pivot) {
+                swap(array, ++p, i);
+            }
+            if (array[j] == pivot) {
+                swap(array, --q, j);
+            }
+        }
+        i = j + 1;
+        for (int k = left; k <= p; k++) {
+            swap(array, k, j--);
+        }
+        for (int k = right; k >= q; k--) {
+            swap(array, k, i++);
+        }
+        return ((long) j << 32) | (i & 0xFFFFFFFFL);
+    }
+
+    // Median of three samples, or on large ranges the median of the medians of three groups of
+    // three spread over the range, which defeats sorted, reversed and organ-pipe inputs
+    private static int pivotIndex(int[] array, int left, int right) {
+        int length = right - left + 1;
+        int middle = left + length / 2;
+        if (length < NINTHER_CUTOFF) {
+            return median(array, left, middle, right);
+        }
+        int eighth = length / 8;
+        return median(array,
+                median(array, left, left + eighth, left + 2 * eighth),
+                median(array, middle - eighth, middle, middle + eighth),
+                median(array, right - 2 * eighth, right - eighth, right));
+    }
+
+    private static int median(int[] array, int a, int b, int c) {
+        if (array[a] < array[b]) {
+            return array[b] < array[c] ? b : array[a] < array[c] ? c : a;
+        }
+        return array[c] < array[b] ? b : array[c] < array[a] ? c : a;
+    }
+
+    static void insertionSort(int[] array, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = array[i];
+            int j = i - 1;
+            while (j >= left && array[j] > key) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    // Introsort's fallback: O(n log n) whatever the input, in place
+    static void heapSort(int[] array, int left, int right) {
+        int length = right - left + 1;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(array, left, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(array, left, left + end);
+            siftDown(array, left, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] array, int base, int node, int length) {
+        int value = array[base + node];
+        while (2 * node + 1 < length) {
+            int child = 2 * node + 1;
+            if (child + 1 < length && array[base + child + 1] > array[base + child]) {
+                child++;
+            }
+            if (array[base + child] <= value) {
+                break;
+            }
+            array[base + node] = array[base + child];
+            node = child;
+        }
+        array[base + node] = value;
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int swapTemp = array[i];
+        array[i] = array[j];
+        array[j] = swapTemp;
+    }
+
+
+    // Quick Sort (Parallel): the same partitioning, both sides forked until a range falls below
+    // the fork threshold; the depth limit carries over, so the heapsort fallback applies here too
+    static class ParallelQuickSort extends RecursiveAction {
+        private int[] array;
+        private int left, right;
+        private int threshold;
+        private int depth;
+
+        public ParallelQuickSort(int[] array, int left, int right) {
+            this(array, left, right, ForkThresholds.FROM_POOL);
+        }
+
+        public ParallelQuickSort(int[] array, int left, int right, int threshold) {
+            this(array, left, right, threshold, depthLimit(right - left + 1));
+        }
+
+        ParallelQuickSort(int[] array, int left, int right, int threshold, int depth) {
+            this.array = array;
+            this.left = left;
+            this.right = right;
+            this.threshold = threshold;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            threshold = Math.max(INSERTION_SORT_CUTOFF,
+                    ForkThresholds.resolve(threshold, ForkThresholds.Kernel.QUICK_SORT, right - left + 1, 1));
+            if (right - left < threshold) { // Small ranges are sorted serially
+                quickSort(array, left, right, depth);
+            } else if (depth == 0) {
+                heapSort(array, left, right);
+            } else {
+                long bounds = partition(array, left, right);
+                invokeAll(new ParallelQuickSort(array, left, (int) (bounds >> 32), threshold, depth - 1),
+                        new ParallelQuickSort(array, (int) bounds, right, threshold, depth - 1));
+            }
+        }
+    }
+
+    // Merge Sort (Serial)
+    public static void mergeSort(int[] array, int[] temp, int left, int right) {
+        if (left < right) {
+            int middle = (left + right) / 2;
+            mergeSort(array, temp, left, middle);
+            mergeSort(array, temp, middle + 1, right);
+            merge(array, temp, left, middle, right);
+        }
+    }
+
+    private static void merge(int[] array, int[] temp, int left, int middle, int right) {
+        System.arraycopy(array, left, temp, left, right - left + 1);
+        int i = left, j = middle + 1, k = left;
+        while (i <= middle && j <= right) {
+            if (temp[i] <= temp[j]) {
+                array[k++] = temp[i++];
+            } else {
+                array[k++] = temp[j++];
+            }
+        }
+        while (i <= middle) {
+            array[k++] = temp[i++];
+        }
+    }
+
+    // Merge Sort (Parallel)
+    static class ParallelMergeSort extends RecursiveAction {
+        private int[] array, temp;
+        private int left, right;
+        private int threshold;
+
+        public ParallelMergeSort(int[] array, int[] temp, int left, int right) {
+            this(array, temp, left, right, ForkThresholds.FROM_POOL);
+        }
+
+        public ParallelMergeSort(int[] array, int[] temp, int left, int right, int threshold) {
+            this.array = array;
+            this.temp = temp;
+            this.left = left;
+            this.right = right;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            threshold = ForkThresholds.resolve(threshold, ForkThresholds.Kernel.MERGE_SORT, right - left + 1, 1);
+            if (right - left < threshold) { // Small ranges are sorted serially
+                mergeSort(array, temp, left, right);
+            } else {
+                int middle = (left + right) / 2;
+                invokeAll(new ParallelMergeSort(array, temp, left, middle, threshold),
+                        new ParallelMergeSort(array, temp, middle + 1, right, threshold));
+                merge(array, temp, left, middle, right);
+            }
+        }
+    }
+
+    // Radix Sort (Serial): least significant digit first, RADIX_BITS per pass. Each pass counts
+    // the digits, turns the counts into bucket starts and scatters stably into the other buffer, so
+    // four passes over 32-bit keys leave the result back in array. A pass where every key has the
+    // same digit is skipped.
+    public static void radixSort(int[] array, int[] temp, int left, int right) {
+        int length = right - left + 1;
+        if (length < 2) {
+            return;
+        }
+        int[] src = array, dst = temp;
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < 32; shift += RADIX_BITS) {
+            Arrays.fill(count, 0);
+            histogram(src, left, right + 1, shift, count);
+            if (count[digit(src[left], shift)] == length) {
+                continue;
+            }
+            for (int d = 0, start = left; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = start;
+                start += c;
+            }
+            scatter(src, dst, left, right + 1, shift, count);
+            int[] swapTemp = src;
+            src = dst;
+            dst = swapTemp;
+        }
+        if (src != array) {
+            System.arraycopy(src, left, array, left, length);
+        }
+    }
+
+    // The top digit has the sign bit flipped, so negative keys sort first
+    private static int digit(int key, int shift) {
+        int d = (key >>> shift) & (RADIX - 1);
+        return shift == 32 - RADIX_BITS ? d ^ (RADIX >>> 1) : d;
+    }
+
+    private static void histogram(int[] src, int from, int to, int shift, int[] count) {
+        for (int i = from; i < to; i++) {
+            count[digit(src[i], shift)]++;
+        }
+    }
+
+    // next[d] is where the next key with digit d goes; advanced as keys are placed
+    private static void scatter(int[] src, int[] dst, int from, int to, int shift, int[] next) {
+        for (int i = from; i < to; i++) {
+            int key = src[i];
+            dst[next[digit(key, shift)]++] = key;
+        }
+    }
+
+    // One step of a block-parallel sort, run for every block
+    interface BlockStep {
+        void run(int block);
+    }
+
+    // Runs step for blocks [from, to), one leaf per block
+    static class BlocksTask extends RecursiveAction {
+        private int from, to;
+        private BlockStep step;
+
+        BlocksTask(int from, int to, BlockStep step) {
+            this.from = from;
+            this.to = to;
+            this.step = step;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                step.run(from);
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BlocksTask(from, middle, step), new BlocksTask(middle, to, step));
+            }
+        }
+    }
+
+    // Radix Sort (Parallel): the range is cut into one block per worker (no smaller than the
+    // threshold). Every pass, each block counts its digits into its own histogram; a serial prefix
+    // sum over (digit, block) gives each block its own slice of every bucket, and the blocks then
+    // scatter in parallel without sharing a counter. Block order within a bucket keeps it stable.
+    static class ParallelRadixSort extends RecursiveAction {
+        private int[] array, temp;
+        private int left, right;
+        private int threshold;
+
+        public ParallelRadixSort(int[] array, int[] temp, int left, int right) {
+            this(array, temp, left, right, ForkThresholds.FROM_POOL);
+        }
+
+        public ParallelRadixSort(int[] array, int[] temp, int left, int right, int threshold) {
+            this.array = array;
+            this.temp = temp;
+            this.left = left;
+            this.right = right;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int length = right - left + 1;
+            threshold = ForkThresholds.resolve(threshold, ForkThresholds.Kernel.RADIX_SORT, length, 1);
+            int blocks = (int) Math.min(ForkThresholds.parallelism(), ((long) length + threshold - 1) / threshold);
+            if (blocks <= 1) { // Small ranges are sorted serially
+                radixSort(array, temp, left, right);
+                return;
+            }
+            int[] blockStart = new int[blocks + 1];
+            for (int b = 0; b <= blocks; b++) {
+                blockStart[b] = left + (int) ((long) length * b / blocks);
+            }
+            int[][] counts = new int[blocks][RADIX];
+            int[] src = array, dst = temp;
+            for (int shift = 0; shift < 32; shift += RADIX_BITS) {
+                int pass = shift;
+                int[] from = src, to = dst;
+                invokeAll(new BlocksTask(0, blocks, b -> {
+                    Arrays.fill(counts[b], 0);
+                    histogram(from, blockStart[b], blockStart[b + 1], pass, counts[b]);
+                }));
+                int first = digit(src[left], shift);
+                int firstCount = 0;
+                for (int[] count : counts) {
+                    firstCount += count[first];
+                }
+                if (firstCount == length) {
+                    continue;
+                }
+                for (int d = 0, start = left; d < RADIX; d++) {
+                    for (int[] count : counts) {
+                        int c = count[d];
+                        count[d] = start;
+                        start += c;
+                    }
+                }
+                invokeAll(new BlocksTask(0, blocks, b -> scatter(from, to, blockStart[b], blockStart[b + 1], pass, counts[b])));
+                src = to;
+                dst = from;
+            }
+            if (src != array) {
+                System.arraycopy(src, left, array, left, length);
+            }
+        }
+    }
+
+    // Sample Sort (Parallel): splitters taken from a random sample cut the keys into buckets of
+    // about equal size, whatever the distribution. Keys equal to a splitter get a bucket of their
+    // own, which needs no sorting, so heavy duplicates cannot pile into one bucket. Blocks classify
+    // and count in parallel, scatter into temp as in the radix sort, and every bucket is then
+    // copied back and quicksorted (forking further if it is large).
+    static class ParallelSampleSort extends RecursiveAction {
+        private int[] array, temp;
+        private int left, right;
+        private int threshold;
+
+        public ParallelSampleSort(int[] array, int[] temp, int left, int right) {
+            this(array, temp, left, right, ForkThresholds.FROM_POOL);
+        }
+
+        public ParallelSampleSort(int[] array, int[] temp, int left, int right, int threshold) {
+            this.array = array;
+            this.temp = temp;
+            this.left = left;
+            this.right = right;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int length = right - left + 1;
+            threshold = Math.max(INSERTION_SORT_CUTOFF,
+                    ForkThresholds.resolve(threshold, ForkThresholds.Kernel.QUICK_SORT, length, 1));
+            long pieces = ((long) length + threshold - 1) / threshold;
+            if (pieces <= 1) { // Small ranges are sorted serially
+                quickSort(array, left, right);
+                return;
+            }
+
+            // Every OVERSAMPLING-th key of the sorted sample, duplicates dropped
+            int buckets = (int) Math.min(MAX_SAMPLE_BUCKETS, pieces);
+            int[] sample = new int[buckets * OVERSAMPLING];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < sample.length; i++) {
+                sample[i] = array[left + random.nextInt(length)];
+            }
+            quickSort(sample, 0, sample.length - 1);
+            int[] splitters = new int[buckets - 1];
+            int splitterCount = 0;
+            for (int i = 1; i < buckets; i++) {
+                int splitter = sample[i * OVERSAMPLING];
+                if (splitterCount == 0 || splitters[splitterCount - 1] != splitter) {
+                    splitters[splitterCount++] = splitter;
+                }
+            }
+            int bucketCount = 2 * splitterCount + 1;
+
+            int blocks = (int) Math.min(ForkThresholds.parallelism(), pieces);
+            int[] blockStart = new int[blocks + 1];
+            for (int b = 0; b <= blocks; b++) {
+                blockStart[b] = left + (int) ((long) length * b / blocks);
+            }
+            byte[] bucketOf = new byte[length];
+            int[][] counts = new int[blocks][bucketCount];
+            int splitterTotal = splitterCount;
+            invokeAll(new BlocksTask(0, blocks, b -> {
+                for (int i = blockStart[b]; i < blockStart[b + 1]; i++) {
+                    int bucket = bucket(splitters, splitterTotal, array[i]);
+                    bucketOf[i - left] = (byte) bucket;
+                    counts[b][bucket]++;
+                }
+            }));
+            int[] bucketStart = new int[bucketCount + 1];
+            int start = left;
+            for (int j = 0; j < bucketCount; j++) {
+                bucketStart[j] = start;
+                for (int[] count : counts) {
+                    int c = count[j];
+                    count[j] = start;
+                    start += c;
+                }
+            }
+            bucketStart[bucketCount] = start;
+            invokeAll(new BlocksTask(0, blocks, b -> {
+                int[] next = counts[b];
+                for (int i = blockStart[b]; i < blockStart[b + 1]; i++) {
+                    temp[next[bucketOf[i - left]]++] = array[i];
+                }
+            }));
+
+            invokeAll(new BlocksTask(0, bucketCount, j -> {
+                int from = bucketStart[j], to = bucketStart[j + 1];
+                System.arraycopy(temp, from, array, from, to - from);
+                if (j % 2 == 0 && to - from > 1) {
+                    new ParallelQuickSort(array, from, to - 1, threshold).invoke();
+                }
+            }));
+        }
+
+        // Buckets in key order: 2i holds keys between splitters i - 1 and i, 2i + 1 keys equal to splitter i
+        private static int bucket(int[] splitters, int count, int key) {
+            int low = 0, high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (splitters[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low < count && splitters[low] == key ? 2 * low + 1 : 2 * low;
+        }
+    }
+
+    // Leaf loops timed by ForkThresholds for Kernel.QUICK_SORT, MERGE_SORT and RADIX_SORT: each
+    // repetition sorts a fresh copy of the same random keys
+    static ForkThresholds.Workload quickSortProbe(Random random) {
+        int[] original = random.ints(1 << 14).toArray();
+        int[] array = new int[original.length];
+        return new ForkThresholds.Workload(() -> {
+            System.arraycopy(original, 0, array, 0, array.length);
+            quickSort(array, 0, array.length - 1);
+        }, original.length);
+    }
+
+    static ForkThresholds.Workload mergeSortProbe(Random random) {
+        int[] original = random.ints(1 << 14).toArray();
+        int[] array = new int[original.length];
+        int[] temp = new int[original.length];
+        return new ForkThresholds.Workload(() -> {
+            System.arraycopy(original, 0, array, 0, array.length);
+            mergeSort(array, temp, 0, array.length - 1);
+        }, original.length);
+    }
+
+    static ForkThresholds.Workload radixSortProbe(Random random) {
+        int[] original = random.ints(1 << 14).toArray();
+        int[] array = new int[original.length];
+        int[] temp = new int[original.length];
+        return new ForkThresholds.Workload(() -> {
+            System.arraycopy(original, 0, array, 0, array.length);
+            radixSort(array, temp, 0, array.length - 1);
+        }, original.length);
+    }
+
+    public static void main(String[] args) {
+        int size = 1000000;
+        ForkJoinPool pool = new ForkJoinPool();
+        for (Distribution distribution : Distribution.values()) {
+            System.out.println(distribution + " input:");
+            int[] original = generateArray(distribution, size, random);
+            int[] expected = Arrays.copyOf(original, original.length);
+            Arrays.sort(expected);
+
+            // Quick Sort Serial
+            int[] quickArray = Arrays.copyOf(original, original.length);
+            long startTime = System.currentTimeMillis();
+            quickSort(quickArray, 0, quickArray.length - 1);
+            long endTime = System.currentTimeMillis();
+            System.out.println("Time taken for serial Quick Sort: " + (endTime - startTime) + " ms"
+                    + (Arrays.equals(quickArray, expected) ? "" : " (WRONG)"));
+
+            // Quick Sort Parallel
+            quickArray = Arrays.copyOf(original, original.length);
+            startTime = System.currentTimeMillis();
+            pool.invoke(new ParallelQuickSort(quickArray, 0, quickArray.length - 1));
+            endTime = System.currentTimeMillis();
+            System.out.println("Time taken for parallel Quick Sort: " + (endTime - startTime) + " ms"
+                    + (Arrays.equals(quickArray, expected) ? "" : " (WRONG)"));
+
+            // Merge Sort Serial
+            int[] mergeArray = Arrays.copyOf(original, original.length);
+            int[] temp = new int[mergeArray.length];
+            startTime = System.currentTimeMillis();
+            mergeSort(mergeArray, temp, 0, mergeArray.length - 1);
+            endTime = System.currentTimeMillis();
+            System.out.println("Time taken for serial Merge Sort: " + (endTime - startTime) + " ms");
+
+            // Merge Sort Parallel
+            mergeArray = Arrays.copyOf(original, original.length);
+            temp = new int[mergeArray.length];
+            startTime = System.currentTimeMillis();
+            pool.invoke(new ParallelMergeSort(mergeArray, temp, 0, mergeArray.length - 1));
+            endTime = System.currentTimeMillis();
+            System.out.println("Time taken for parallel Merge Sort: " + (endTime - startTime) + " ms");
+
+            // Radix Sort Serial
+            int[] radixArray = Arrays.copyOf(original, original.length);
+            startTime = System.currentTimeMillis();
+            radixSort(radixArray, temp, 0, radixArray.length - 1);
+            endTime = System.currentTimeMillis();
+            System.out.println("Time taken for serial Radix Sort: " + (endTime - startTime) + " ms"
+                    + (Arrays.equals(radixArray, expected) ? "" : " (WRONG)"));
+
+            // Radix Sort Parallel
+            radixArray = Arrays.copyOf(original, original.length);
+            startTime = System.currentTimeMillis();
+            pool.invoke(new ParallelRadixSort(radixArray, temp, 0, radixArray.length - 1));
+            endTime = System.currentTimeMillis();
+            System.out.println("Time taken for parallel Radix Sort: " + (endTime - startTime) + " ms"
+                    + (Arrays.equals(radixArray, expected) ? "" : " (WRONG)"));
+
+            // Sample Sort Parallel
+            int[] sampleArray = Arrays.copyOf(original, original.length);
+            startTime = System.currentTimeMillis();
+            pool.invoke(new ParallelSampleSort(sampleArray, temp, 0, sampleArray.length - 1));
+            endTime = System.currentTimeMillis();
+            System.out.println("Time taken for parallel Sample Sort: " + (endTime - startTime) + " ms"
+                    + (Arrays.equals(sampleArray, expected) ? "" : " (WRONG)"));
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,240 @@
+package osproject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stochastic training modes for LogisticRegression. Full-batch descent makes one weight update per
+// pass over the data; here every mini-batch of batchSize rows updates the weights, so a pass makes
+// rows / batchSize updates. Rows are visited in a freshly shuffled order each epoch.
+//  - trainMiniBatch: one thread, reproducible for a given seed.
+//  - trainHogwild: the pool's workers take disjoint slices of the shuffled batches and update the
+//    shared weight vector without any locking. Concurrent updates may overwrite each other; with
+//    small steps those lost updates cost little and no thread ever waits (Recht et al., Hogwild!).
+// Both return the log loss after every epoch against the wall-clock time spent training so far.
+// Features come as any FeatureMatrix; with CsrFeatureMatrix a step costs the non-zeros of its batch,
+// not batchSize x columns.
+public class StochasticTrainer {
+    private final int batchSize;
+    private final LearningRate learningRate;
+    private final long seed;
+
+    public StochasticTrainer(int batchSize, LearningRate learningRate, long seed) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.learningRate = learningRate;
+        this.seed = seed;
+    }
+
+    // State after an epoch; elapsedMillis excludes the time spent computing the loss
+    public static class Progress {
+        public final int epoch;
+        public final long elapsedMillis;
+        public final double loss;
+
+        Progress(int epoch, long elapsedMillis, double loss) {
+            this.epoch = epoch;
+            this.elapsedMillis = elapsedMillis;
+            this.loss = loss;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "epoch %3d  %7d ms  log loss %.6f", epoch, elapsedMillis, loss);
+        }
+    }
+
+    public List<Progress> trainMiniBatch(LogisticRegression model, double[][] X, double[] y, int epochs) {
+        return trainMiniBatch(model, FeatureMatrix.wrap(X), y, epochs);
+    }
+
+    public List<Progress> trainMiniBatch(LogisticRegression model, FeatureMatrix X, double[] y, int epochs) {
+        double[] weights = model.weights();
+        LogisticRegression.checkShape(X, y, weights.length);
+        double[] gradient = new double[weights.length];
+        int[] order = identity(X.rows());
+        Random random = new Random(seed);
+        List<Progress> progress = new ArrayList<>();
+        long step = 0, elapsed = 0;
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            long startTime = System.currentTimeMillis();
+            shuffle(order, random);
+            for (int start = 0; start < order.length; start += batchSize) {
+                int end = Math.min(order.length, start + batchSize);
+                batchStep(X, y, weights, order, start, end, gradient, learningRate.at(step++));
+            }
+            elapsed += System.currentTimeMillis() - startTime;
+            progress.add(new Progress(epoch, elapsed, logLoss(weights, X, y)));
+        }
+        return progress;
+    }
+
+    public List<Progress> trainHogwild(LogisticRegression model, double[][] X, double[] y, int epochs, ForkJoinPool pool) {
+        return trainHogwild(model, FeatureMatrix.wrap(X), y, epochs, pool);
+    }
+
+    public List<Progress> trainHogwild(LogisticRegression model, FeatureMatrix X, double[] y, int epochs, ForkJoinPool pool) {
+        double[] weights = model.weights();
+        LogisticRegression.checkShape(X, y, weights.length);
+        int[] order = identity(X.rows());
+        Random random = new Random(seed);
+        int batches = (X.rows() + batchSize - 1) / batchSize;
+        // One slice of batches per worker: the point is many independent updaters, not load balancing
+        int threshold = Math.max(1, (batches + pool.getParallelism() - 1) / pool.getParallelism());
+        AtomicLong step = new AtomicLong();
+        List<Progress> progress = new ArrayList<>();
+        long elapsed = 0;
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            long startTime = System.currentTimeMillis();
+            shuffle(order, random);
+            pool.invoke(new HogwildTask(X, y, weights, order, batchSize, learningRate, step, 0, batches, threshold));
+            elapsed += System.currentTimeMillis() - startTime;
+            progress.add(new Progress(epoch, elapsed, logLoss(weights, X, y)));
+        }
+        return progress;
+    }
+
+    // Worker over batches [start, end) of the shuffled order, each batch applied to the shared weights
+    static class HogwildTask extends RecursiveAction {
+        private FeatureMatrix X;
+        private double[] y;
+        private double[] weights;
+        private int[] order;
+        private int batchSize;
+        private LearningRate learningRate;
+        private AtomicLong step;
+        private int start, end;
+        private int threshold;
+
+        HogwildTask(FeatureMatrix X, double[] y, double[] weights, int[] order, int batchSize, LearningRate learningRate,
+                    AtomicLong step, int start, int end, int threshold) {
+            this.X = X;
+            this.y = y;
+            this.weights = weights;
+            this.order = order;
+            this.batchSize = batchSize;
+            this.learningRate = learningRate;
+            this.step = step;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                double[] gradient = new double[weights.length];
+                for (int batch = start; batch < end; batch++) {
+                    int from = batch * batchSize;
+                    int to = Math.min(order.length, from + batchSize);
+                    batchStep(X, y, weights, order, from, to, gradient, learningRate.at(step.getAndIncrement()));
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new HogwildTask(X, y, weights, order, batchSize, learningRate, step, start, mid, threshold),
+                        new HogwildTask(X, y, weights, order, batchSize, learningRate, step, mid, end, threshold));
+            }
+        }
+    }
+
+    // One gradient step on rows order[from..to). gradient is all zeros on entry and left that way by
+    // applyGradient, so sparse rows never pay for a pass over every column. In Hogwild mode weights
+    // is read and written by other workers meanwhile; plain double stores are not torn on 64-bit
+    // JVMs, so the worst case is a lost update.
+    static void batchStep(FeatureMatrix X, double[] y, double[] weights, int[] order, int from, int to,
+                          double[] gradient, double lr) {
+        for (int k = from; k < to; k++) {
+            int i = order[k];
+            X.addGradient(weights, y, i, i + 1, gradient);
+        }
+        X.applyGradient(order, from, to, lr / (to - from), gradient, weights);
+    }
+
+    static double logLoss(double[] weights, double[][] X, double[] y) {
+        return logLoss(weights, FeatureMatrix.wrap(X), y);
+    }
+
+    // Mean negative log-likelihood, probabilities clamped away from 0 and 1
+    static double logLoss(double[] weights, FeatureMatrix X, double[] y) {
+        double loss = 0;
+        for (int i = 0; i < X.rows(); i++) {
+            double p = Math.min(1 - 1e-15, Math.max(1e-15, LogisticRegression.sigmoid(X.dot(i, weights))));
+            loss -= y[i] * Math.log(p) + (1 - y[i]) * Math.log(1 - p);
+        }
+        return X.rows() == 0 ? 0 : loss / X.rows();
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    // Fisher-Yates
+    private static void shuffle(int[] order, Random random) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+
+    public static void main(String[] args) {
+        int rows = 1000000, features = 16;
+        double[][] X = new double[rows][features];
+        double[] y = new double[rows];
+        LogisticRegression.syntheticData(X, y, new Random(42));
+        ForkJoinPool pool = new ForkJoinPool();
+
+        System.out.println("Full batch, lr 0.5:");
+        LogisticRegression fullBatch = new LogisticRegression(features);
+        long elapsed = 0;
+        for (int epoch = 1; epoch <= 10; epoch++) {
+            long startTime = System.currentTimeMillis();
+            fullBatch.trainParallel(X, y, 0.5, 1, pool);
+            elapsed += System.currentTimeMillis() - startTime;
+            System.out.println(new Progress(epoch, elapsed, logLoss(fullBatch.weights(), X, y)));
+        }
+
+        StochasticTrainer trainer = new StochasticTrainer(256, LearningRate.inverseTime(0.5, 1e-3), 42);
+        System.out.println("Mini-batch SGD, batch 256, lr 0.5 / (1 + 0.001 t):");
+        for (Progress progress : trainer.trainMiniBatch(new LogisticRegression(features), X, y, 3)) {
+            System.out.println(progress);
+        }
+        System.out.println("Hogwild on " + pool.getParallelism() + " workers, same settings:");
+        for (Progress progress : trainer.trainHogwild(new LogisticRegression(features), X, y, 3, pool)) {
+            System.out.println(progress);
+        }
+
+        // Sparse features: 100000 columns, 20 non-zeros per row, labels from a random true model
+        int sparseColumns = 100000;
+        Random random = new Random(7);
+        CsrFeatureMatrix sparse = CsrFeatureMatrix.random(rows, sparseColumns, 20, random);
+        double[] truth = new double[sparseColumns];
+        for (int j = 0; j < sparseColumns; j++) {
+            truth[j] = random.nextGaussian();
+        }
+        double[] sparseY = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            sparseY[i] = random.nextDouble() < LogisticRegression.sigmoid(sparse.dot(i, truth)) ? 1 : 0;
+        }
+        System.out.println("Mini-batch SGD, CSR " + rows + " x " + sparseColumns + ", same settings:");
+        for (Progress progress : trainer.trainMiniBatch(new LogisticRegression(sparseColumns), sparse, sparseY, 3)) {
+            System.out.println(progress);
+        }
+        System.out.println("Hogwild, CSR, same settings:");
+        for (Progress progress : trainer.trainHogwild(new LogisticRegression(sparseColumns), sparse, sparseY, 3, pool)) {
+            System.out.println(progress);
+        }
+        pool.shutdown();
+    }
+}
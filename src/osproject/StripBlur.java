@@ -0,0 +1,109 @@
+package osproject;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+// Streaming box blur for images larger than the heap. Horizontal strips are decoded one at a time
+// through ImageReadParam.setSourceRegion, together with `radius` halo rows above and below, blurred
+// with BoxBlur and written straight into an uncompressed TIFF via ImageWriter.replacePixels.
+// Peak memory is a few copies of one strip, whatever the image size; the output is identical to
+// blurring the whole image at once. Sequential formats such as baseline JPEG are decoded from the
+// top again for every strip, so taller strips trade memory for decode time.
+public class StripBlur {
+    static final int STRIP_ROWS = 256;
+
+    public static void blur(File input, File output, int radius, int stripRows, ForkJoinPool pool) throws IOException {
+        if (stripRows < 1) {
+            throw new IllegalArgumentException("stripRows must be positive: " + stripRows);
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(input)) {
+            if (in == null) {
+                throw new IOException("Cannot open " + input);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("No ImageIO reader for " + input);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, false, true);
+                blur(reader, output, radius, stripRows, pool);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void blur(ImageReader reader, File output, int radius, int stripRows, ForkJoinPool pool) throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        output.delete(); // ImageIO output streams do not truncate an existing file
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(out);
+            if (!writer.canWriteEmpty()) {
+                throw new IOException("TIFF writer cannot stream strips");
+            }
+            ImageTypeSpecifier type = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_RGB);
+            writer.prepareWriteEmpty(null, type, width, height, null, null, null);
+
+            for (int y0 = 0; y0 < height; y0 += stripRows) {
+                int y1 = Math.min(height, y0 + stripRows);
+                int top = Math.max(0, y0 - radius);
+                int bottom = Math.min(height, y1 + radius);
+
+                // Strip plus halo rows, so every output row sees the same window as in the full image
+                ImageReadParam readParam = reader.getDefaultReadParam();
+                readParam.setSourceRegion(new Rectangle(0, top, width, bottom - top));
+                BufferedImage strip = reader.read(0, readParam);
+                int[] pixels = strip.getRGB(0, 0, width, bottom - top, null, 0, width);
+                int[] blurred = new int[pixels.length];
+                BoxBlur.blurParallel(pixels, blurred, width, bottom - top, radius, pool);
+
+                BufferedImage core = new BufferedImage(width, y1 - y0, BufferedImage.TYPE_INT_RGB);
+                core.setRGB(0, 0, width, y1 - y0, blurred, (y0 - top) * width, width);
+                writer.prepareReplacePixels(0, new Rectangle(0, y0, width, y1 - y0));
+                ImageWriteParam writeParam = writer.getDefaultWriteParam();
+                writeParam.setDestinationOffset(new Point(0, y0));
+                writer.replacePixels(core, writeParam);
+                writer.endReplacePixels();
+            }
+            writer.endWriteEmpty();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // Usage: StripBlur <input image> <output.tif> [radius] [strip rows]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: StripBlur <input image> <output.tif> [radius] [strip rows]");
+            return;
+        }
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+        int radius = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int stripRows = args.length > 3 ? Integer.parseInt(args[3]) : STRIP_ROWS;
+
+        ForkJoinPool pool = new ForkJoinPool();
+        long startTime = System.currentTimeMillis();
+        blur(input, output, radius, stripRows, pool);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Streaming blur processing time: " + (endTime - startTime) + " ms");
+        pool.shutdown();
+    }
+}
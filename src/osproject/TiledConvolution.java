@@ -0,0 +1,190 @@
+package osproject;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Convolution of an RGB image with any ConvolutionKernel, processed in square tiles of output
+// pixels. Each tile first copies its input footprint (the tile plus a halo of the kernel radius,
+// clamped at the image border) into per-channel float planes sized to fit in L2, then runs the
+// kernel out of that scratch buffer with unit-stride, bounds-check-free inner loops. Tiles are
+// scheduled on a ForkJoinPool; alpha is copied from the source.
+public class TiledConvolution {
+    static final int CACHE_BYTES = 256 * 1024; // Scratch budget per worker, a typical L2 size
+    static final int MIN_TILE = 16;
+
+    private final ForkJoinPool pool;
+    private final int tileSize; // 0 sizes tiles from CACHE_BYTES and the kernel radius
+
+    // Scratch planes reused by every tile a worker processes
+    private static final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public TiledConvolution(ForkJoinPool pool) {
+        this(pool, 0);
+    }
+
+    public TiledConvolution(ForkJoinPool pool, int tileSize) {
+        if (tileSize < 0) {
+            throw new IllegalArgumentException("tileSize must not be negative: " + tileSize);
+        }
+        this.pool = pool;
+        this.tileSize = tileSize;
+    }
+
+    public void apply(BufferedImage src, BufferedImage dest, ConvolutionKernel kernel) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        int[] pixels = src.getRGB(0, 0, width, height, null, 0, width);
+        int[] out = new int[pixels.length];
+        apply(pixels, out, width, height, kernel);
+        dest.setRGB(0, 0, width, height, out, 0, width);
+    }
+
+    void apply(int[] pixels, int[] out, int width, int height, ConvolutionKernel kernel) {
+        int tile = tileSize > 0 ? tileSize : tileSizeFor(kernel);
+        int tilesX = (width + tile - 1) / tile;
+        int tilesY = (height + tile - 1) / tile;
+        // A tile is thousands of multiply-adds, far above the fork/join overhead, so leaves are single tiles
+        pool.invoke(new TileTask(pixels, out, width, height, kernel, tile, tilesX, 0, tilesX * tilesY));
+    }
+
+    // Same tiles on the calling thread
+    public static void applySerial(BufferedImage src, BufferedImage dest, ConvolutionKernel kernel) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        int[] pixels = src.getRGB(0, 0, width, height, null, 0, width);
+        int[] out = new int[pixels.length];
+        int tile = tileSizeFor(kernel);
+        for (int y = 0; y < height; y += tile) {
+            for (int x = 0; x < width; x += tile) {
+                convolveTile(pixels, out, width, height, kernel, x, y, Math.min(tile, width - x), Math.min(tile, height - y));
+            }
+        }
+        dest.setRGB(0, 0, width, height, out, 0, width);
+    }
+
+    // Largest tile whose three float planes, halo included, fit in CACHE_BYTES
+    static int tileSizeFor(ConvolutionKernel kernel) {
+        int halo = 2 * Math.max(kernel.getRadiusX(), kernel.getRadiusY());
+        int side = (int) Math.sqrt(CACHE_BYTES / (3.0 * Float.BYTES)) - halo;
+        return Math.max(MIN_TILE, side);
+    }
+
+    // Per-channel input planes of one tile footprint and per-channel accumulators of one output row,
+    // kept in separate arrays so the JIT can vectorise the row loops without aliasing checks
+    static class Scratch {
+        float[] red = new float[0], green = new float[0], blue = new float[0];
+        float[] accRed = new float[0], accGreen = new float[0], accBlue = new float[0];
+
+        void ensure(int plane, int row) {
+            if (red.length < plane) {
+                red = new float[plane];
+                green = new float[plane];
+                blue = new float[plane];
+            }
+            if (accRed.length < row) {
+                accRed = new float[row];
+                accGreen = new float[row];
+                accBlue = new float[row];
+            }
+        }
+    }
+
+    // Parallel task over tiles [start, end), numbered row by row
+    static class TileTask extends RecursiveAction {
+        private int[] pixels, out;
+        private int width, height;
+        private ConvolutionKernel kernel;
+        private int tile, tilesX;
+        private int start, end;
+
+        TileTask(int[] pixels, int[] out, int width, int height, ConvolutionKernel kernel, int tile, int tilesX, int start, int end) {
+            this.pixels = pixels;
+            this.out = out;
+            this.width = width;
+            this.height = height;
+            this.kernel = kernel;
+            this.tile = tile;
+            this.tilesX = tilesX;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                int x0 = (start % tilesX) * tile;
+                int y0 = (start / tilesX) * tile;
+                convolveTile(pixels, out, width, height, kernel, x0, y0, Math.min(tile, width - x0), Math.min(tile, height - y0));
+            } else if (end > start) {
+                int mid = (start + end) >>> 1;
+                invokeAll(new TileTask(pixels, out, width, height, kernel, tile, tilesX, start, mid),
+                        new TileTask(pixels, out, width, height, kernel, tile, tilesX, mid, end));
+            }
+        }
+    }
+
+    static void convolveTile(int[] pixels, int[] out, int width, int height, ConvolutionKernel kernel,
+                             int x0, int y0, int tileWidth, int tileHeight) {
+        int rx = kernel.getRadiusX(), ry = kernel.getRadiusY();
+        int stride = tileWidth + 2 * rx;
+        int rows = tileHeight + 2 * ry;
+        Scratch buffers = scratch.get();
+        buffers.ensure(stride * rows, tileWidth);
+        float[] red = buffers.red, green = buffers.green, blue = buffers.blue;
+        float[] accRed = buffers.accRed, accGreen = buffers.accGreen, accBlue = buffers.accBlue;
+
+        // Unpack the footprint, clamping the halo to the nearest edge pixel
+        for (int sy = 0; sy < rows; sy++) {
+            int row = Math.min(height - 1, Math.max(0, y0 + sy - ry)) * width;
+            int base = sy * stride;
+            for (int sx = 0; sx < stride; sx++) {
+                int rgb = pixels[row + Math.min(width - 1, Math.max(0, x0 + sx - rx))];
+                red[base + sx] = (rgb >> 16) & 0xFF;
+                green[base + sx] = (rgb >> 8) & 0xFF;
+                blue[base + sx] = rgb & 0xFF;
+            }
+        }
+
+        float[] weights = kernel.weights;
+        for (int ty = 0; ty < tileHeight; ty++) {
+            Arrays.fill(accRed, 0, tileWidth, 0f);
+            Arrays.fill(accGreen, 0, tileWidth, 0f);
+            Arrays.fill(accBlue, 0, tileWidth, 0f);
+            // One kernel weight at a time over a whole output row, so the inner loop is a plain axpy
+            for (int ky = 0; ky < kernel.height; ky++) {
+                int base = (ty + ky) * stride;
+                for (int kx = 0; kx < kernel.width; kx++) {
+                    float weight = weights[ky * kernel.width + kx];
+                    if (weight == 0) {
+                        continue;
+                    }
+                    int from = base + kx;
+                    axpy(weight, red, from, accRed, tileWidth);
+                    axpy(weight, green, from, accGreen, tileWidth);
+                    axpy(weight, blue, from, accBlue, tileWidth);
+                }
+            }
+            int row = (y0 + ty) * width + x0;
+            for (int tx = 0; tx < tileWidth; tx++) {
+                out[row + tx] = (pixels[row + tx] & 0xFF000000)
+                        | clamp(accRed[tx]) << 16
+                        | clamp(accGreen[tx]) << 8
+                        | clamp(accBlue[tx]);
+            }
+        }
+    }
+
+    // acc[0..n) += weight * src[from..from+n), one channel at a time so C2 can vectorise it
+    private static void axpy(float weight, float[] src, int from, float[] acc, int n) {
+        for (int i = 0; i < n; i++) {
+            acc[i] += weight * src[from + i];
+        }
+    }
+
+    private static int clamp(float value) {
+        int rounded = Math.round(value);
+        return rounded < 0 ? 0 : Math.min(rounded, 255);
+    }
+}
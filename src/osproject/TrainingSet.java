@@ -0,0 +1,144 @@
+package osproject;
+
+// Column-oriented KNN training data of any dimensionality: one contiguous double[] per feature
+// and an int[] label column, instead of one Point object per sample. A 2-d sample takes 20 bytes
+// here against roughly 40 for a Point plus its array slot, and distance kernels stream over
+// primitive arrays one column at a time, a loop shape the JIT can unroll and vectorise.
+public class TrainingSet {
+    static final int BLOCK = 1024; // Distances computed per pass, small enough to stay in L1
+
+    final int dims;
+    final int size;
+    final double[][] columns; // columns[d][i] is feature d of sample i
+    final int[] labels;
+    final int numLabels;
+
+    public TrainingSet(double[][] columns, int[] labels) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("A training set needs at least one dimension");
+        }
+        for (double[] column : columns) {
+            if (column.length != labels.length) {
+                throw new IllegalArgumentException("Column length " + column.length + " does not match " + labels.length + " labels");
+            }
+        }
+        int maxLabel = 0;
+        for (int label : labels) {
+            if (label < 0) {
+                throw new IllegalArgumentException("Labels must not be negative: " + label);
+            }
+            maxLabel = Math.max(maxLabel, label);
+        }
+        this.dims = columns.length;
+        this.size = labels.length;
+        this.columns = columns;
+        this.labels = labels;
+        this.numLabels = maxLabel + 1;
+    }
+
+    // Columnar copy of 2-d points
+    public static TrainingSet of(Point[] points) {
+        double[] x = new double[points.length];
+        double[] y = new double[points.length];
+        int[] labels = new int[points.length];
+        for (int i = 0; i < points.length; i++) {
+            x[i] = points[i].x;
+            y[i] = points[i].y;
+            labels[i] = points[i].label;
+        }
+        return new TrainingSet(new double[][]{x, y}, labels);
+    }
+
+    // Columnar copy of row-major samples, rows[i] holding the features of sample i
+    public static TrainingSet fromRows(double[][] rows, int[] labels) {
+        int dims = rows.length == 0 ? 1 : rows[0].length;
+        double[][] columns = new double[dims][rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != dims) {
+                throw new IllegalArgumentException("Row " + i + " has " + rows[i].length + " features, expected " + dims);
+            }
+            for (int d = 0; d < dims; d++) {
+                columns[d][i] = rows[i][d];
+            }
+        }
+        return new TrainingSet(columns, labels);
+    }
+
+    public int dimensions() {
+        return dims;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int label(int i) {
+        return labels[i];
+    }
+
+    public double get(int i, int d) {
+        return columns[d][i];
+    }
+
+    // Squared distances from query to samples [from, to) into out[0 .. to - from)
+    void distancesSquared(double[] query, int from, int to, double[] out) {
+        int n = to - from;
+        double[] column = columns[0];
+        double q = query[0];
+        for (int i = 0; i < n; i++) {
+            double diff = column[from + i] - q;
+            out[i] = diff * diff;
+        }
+        for (int d = 1; d < dims; d++) {
+            column = columns[d];
+            q = query[d];
+            for (int i = 0; i < n; i++) {
+                double diff = column[from + i] - q;
+                out[i] += diff * diff;
+            }
+        }
+    }
+
+    // Squared distance from query to sample i
+    double distanceSquared(double[] query, int i) {
+        double sum = 0;
+        for (int d = 0; d < dims; d++) {
+            double diff = columns[d][i] - query[d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    // Offer samples [from, to) to the heap, a block of distances at a time; ids are sample indices.
+    // scratch needs room for BLOCK distances.
+    void scan(double[] query, int from, int to, NeighbourHeap heap, double[] scratch) {
+        checkQuery(query);
+        for (int blockStart = from; blockStart < to; blockStart += BLOCK) {
+            int blockEnd = Math.min(to, blockStart + BLOCK);
+            distancesSquared(query, blockStart, blockEnd, scratch);
+            double worst = heap.worst();
+            for (int i = blockStart; i < blockEnd; i++) {
+                double distance = scratch[i - blockStart];
+                if (distance <= worst) {
+                    heap.offer(distance, i);
+                    worst = heap.worst();
+                }
+            }
+        }
+    }
+
+    // Majority label of the candidates in the heap, lowest label on a tie
+    int vote(NeighbourHeap heap) {
+        int[] votes = new int[numLabels];
+        for (int i = 0; i < heap.size; i++) {
+            votes[labels[heap.ids[i]]]++;
+        }
+        return KNN.getMaxIndex(votes);
+    }
+
+    void checkQuery(double[] query) {
+        if (query.length != dims) {
+            throw new IllegalArgumentException("Query has " + query.length + " dimensions, training set has " + dims);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package osproject;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Register-tiled FMA kernels on the widest vector shape the CPU supports: a tile is MR rows by two
+// vectors, held in eight vector accumulators. Every k step loads two panel vectors, broadcasts
+// one element of each of the four A rows and issues eight fused multiply-adds. Float tiles have
+// twice the lanes of double tiles in the same registers. Only loaded through GemmKernels.select()
+// once jdk.incubator.vector is known to be present.
+class VectorGemmKernels implements GemmKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final int DOUBLE_LANES = DOUBLES.length();
+    private static final int FLOAT_LANES = FLOATS.length();
+
+    @Override
+    public int doubleColumns() {
+        return 2 * DOUBLE_LANES;
+    }
+
+    @Override
+    public int floatColumns() {
+        return 2 * FLOAT_LANES;
+    }
+
+    @Override
+    public void tile(int kc, double[] a, int aRow, int lda, double[] panel, int strip, double[] c, int cTile, int ldc) {
+        int step = 2 * DOUBLE_LANES;
+        DoubleVector c00 = DoubleVector.zero(DOUBLES), c01 = c00, c10 = c00, c11 = c00;
+        DoubleVector c20 = c00, c21 = c00, c30 = c00, c31 = c00;
+        int a0 = aRow, a1 = a0 + lda, a2 = a1 + lda, a3 = a2 + lda;
+        for (int p = 0, pb = strip; p < kc; p++, pb += step) {
+            DoubleVector b0 = DoubleVector.fromArray(DOUBLES, panel, pb);
+            DoubleVector b1 = DoubleVector.fromArray(DOUBLES, panel, pb + DOUBLE_LANES);
+            DoubleVector x = DoubleVector.broadcast(DOUBLES, a[a0 + p]);
+            c00 = x.fma(b0, c00);
+            c01 = x.fma(b1, c01);
+            x = DoubleVector.broadcast(DOUBLES, a[a1 + p]);
+            c10 = x.fma(b0, c10);
+            c11 = x.fma(b1, c11);
+            x = DoubleVector.broadcast(DOUBLES, a[a2 + p]);
+            c20 = x.fma(b0, c20);
+            c21 = x.fma(b1, c21);
+            x = DoubleVector.broadcast(DOUBLES, a[a3 + p]);
+            c30 = x.fma(b0, c30);
+            c31 = x.fma(b1, c31);
+        }
+        addInto(c00, c01, c, cTile);
+        addInto(c10, c11, c, cTile + ldc);
+        addInto(c20, c21, c, cTile + 2 * ldc);
+        addInto(c30, c31, c, cTile + 3 * ldc);
+    }
+
+    private static void addInto(DoubleVector low, DoubleVector high, double[] c, int offset) {
+        DoubleVector.fromArray(DOUBLES, c, offset).add(low).intoArray(c, offset);
+        DoubleVector.fromArray(DOUBLES, c, offset + DOUBLE_LANES).add(high).intoArray(c, offset + DOUBLE_LANES);
+    }
+
+    @Override
+    public void tile(int kc, float[] a, int aRow, int lda, float[] panel, int strip, float[] c, int cTile, int ldc) {
+        int step = 2 * FLOAT_LANES;
+        FloatVector c00 = FloatVector.zero(FLOATS), c01 = c00, c10 = c00, c11 = c00;
+        FloatVector c20 = c00, c21 = c00, c30 = c00, c31 = c00;
+        int a0 = aRow, a1 = a0 + lda, a2 = a1 + lda, a3 = a2 + lda;
+        for (int p = 0, pb = strip; p < kc; p++, pb += step) {
+            FloatVector b0 = FloatVector.fromArray(FLOATS, panel, pb);
+            FloatVector b1 = FloatVector.fromArray(FLOATS, panel, pb + FLOAT_LANES);
+            FloatVector x = FloatVector.broadcast(FLOATS, a[a0 + p]);
+            c00 = x.fma(b0, c00);
+            c01 = x.fma(b1, c01);
+            x = FloatVector.broadcast(FLOATS, a[a1 + p]);
+            c10 = x.fma(b0, c10);
+            c11 = x.fma(b1, c11);
+            x = FloatVector.broadcast(FLOATS, a[a2 + p]);
+            c20 = x.fma(b0, c20);
+            c21 = x.fma(b1, c21);
+            x = FloatVector.broadcast(FLOATS, a[a3 + p]);
+            c30 = x.fma(b0, c30);
+            c31 = x.fma(b1, c31);
+        }
+        addInto(c00, c01, c, cTile);
+        addInto(c10, c11, c, cTile + ldc);
+        addInto(c20, c21, c, cTile + 2 * ldc);
+        addInto(c30, c31, c, cTile + 3 * ldc);
+    }
+
+    private static void addInto(FloatVector low, FloatVector high, float[] c, int offset) {
+        FloatVector.fromArray(FLOATS, c, offset).add(low).intoArray(c, offset);
+        FloatVector.fromArray(FLOATS, c, offset + FLOAT_LANES).add(high).intoArray(c, offset + FLOAT_LANES);
+    }
+
+    @Override
+    public String name() {
+        return "vector " + DOUBLES + ", " + FLOATS;
+    }
+}
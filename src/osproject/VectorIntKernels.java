@@ -0,0 +1,54 @@
+package osproject;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Lane-wise kernels on the widest vector shape the CPU supports. Only loaded through
+// IntKernels.select() once jdk.incubator.vector is known to be present.
+class VectorIntKernels implements IntKernels {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public long sum(int[] a, int from, int to) {
+        // Each int vector widens into two long vectors of the same bit size (parts 0 and 1),
+        // so lane sums cannot overflow the way an int accumulator would
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        int upper = from + INTS.loopBound(to - from);
+        for (; i < upper; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            acc = acc.add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 0))
+                    .add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        int upper = from + INTS.loopBound(to - from);
+        for (; i < upper; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, a, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public String name() {
+        return "vector " + INTS;
+    }
+}